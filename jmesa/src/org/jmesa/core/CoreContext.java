@@ -60,6 +60,11 @@ public class CoreContext {
         return items.getFilteredItems();
     }
 
+    /**
+     * @return The filtered items in the sorted order. If the columnSort is a PartialColumnSort
+     *         then only the rows up to the end of the page may be in the sorted order, and the
+     *         rest of the rows follow in no particular order.
+     */
     public Collection<?> getSortedItems() {
         
         return items.getSortedItems();
@@ -90,6 +95,14 @@ public class CoreContext {
         return preferences.getPreference(code);
     }
 
+    /**
+     * @since 4.1
+     */
+    public Preferences getPreferences() {
+        
+        return preferences;
+    }
+
     public Worksheet getWorksheet() {
         
         return worksheet;
@@ -100,6 +113,15 @@ public class CoreContext {
         return limit;
     }
 
+    /**
+     * @return The version of the items, or null if it was not set.
+     * @since 4.1
+     */
+    public Object getDataVersion() {
+        
+        return items.getDataVersion();
+    }
+
     public Object getAttribute(Object key) {
         
         if (attributes == null) {
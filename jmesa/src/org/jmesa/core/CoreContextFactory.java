@@ -16,8 +16,10 @@
 package org.jmesa.core;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.lang.StringUtils;
 import org.jmesa.core.filter.DefaultRowFilter;
 import org.jmesa.core.filter.FilterMatcher;
 import org.jmesa.core.filter.FilterMatcherMap;
@@ -34,6 +36,8 @@ import org.jmesa.limit.Limit;
 import org.jmesa.util.PreferencesUtils;
 import org.jmesa.util.SupportUtils;
 import org.jmesa.web.WebContext;
+import org.jmesa.web.WebContextUtils;
+import org.jmesa.web.WebContextUtils.ApplicationAttributeFactory;
 import org.jmesa.worksheet.Worksheet;
 
 /**
@@ -47,14 +51,23 @@ public class CoreContextFactory {
     private final static String COLUMN_SORT = "columnSort";
     private final static String ROW_FILTER = "rowFilter";
     private final static String FILTER_MATCHER_MAP = "filterMatcherMap";
+    private final static String ITEMS_READ_ONLY_VIEW = "items.readOnlyView";
+    private final static String FILTER_MATCHER_REGISTRY_ATTR = "jmesa.filterMatcherRegistry.";
+    private final static String ITEMS_CACHE_MAX_ENTRIES = "items.cache.maxEntries";
+    private final static String ITEMS_CACHE_MAX_ROWS = "items.cache.maxRows";
+    private final static String ITEMS_CACHE_TIME_TO_LIVE = "items.cache.timeToLive";
+    private final static String ITEMS_CACHE_ATTR = "jmesa.itemsCache";
     
     private WebContext webContext;
     private FilterMatcherRegistry registry;
+    private boolean sharedRegistry;
     private RowFilter rowFilter;
     private ColumnSort columnSort;
     private Preferences preferences;
     private Messages messages;
     private boolean autoFilterAndSort;
+    private Object dataVersion;
+    private Map<String, Class<?>> propertyTypes;
 
     /**
      * <p>
@@ -75,22 +88,57 @@ public class CoreContextFactory {
 
     protected FilterMatcherRegistry getFilterMatcherRegistry() {
 		
-        if (registry == null) {        	
-            registry = new FilterMatcherRegistry();
-            
-            FilterMatcherMap filterMatcherMap = PreferencesUtils.<FilterMatcherMap>createClassFromPreferences(getPreferences(), FILTER_MATCHER_MAP);
-            Map<MatcherKey, FilterMatcher> filterMatchersMap = filterMatcherMap.getFilterMatchers();
-            
-            for (Map.Entry<MatcherKey, FilterMatcher> entry : filterMatchersMap.entrySet()) {
-            	registry.addFilterMatcher(entry.getKey(), entry.getValue());
-            }
+        if (registry == null) {
+            registry = getSharedFilterMatcherRegistry();
+            sharedRegistry = true;
         }
 
         return registry;
     }
 
     /**
-     * Add a FilterMatcher to the FilterMatcherRegistry..
+     * The FilterMatcherRegistry that is built from the filterMatcherMap preference is only built
+     * once and then kept in the application scope. It is never changed after it is built so it
+     * can be shared by all the requests. The FilterMatcher objects in it are shared too, so they
+     * need to be stateless and thread safe.
+     */
+    private FilterMatcherRegistry getSharedFilterMatcherRegistry() {
+		
+        String filterMatcherMapClass = getPreferences().getPreference(FILTER_MATCHER_MAP);
+        String attribute = FILTER_MATCHER_REGISTRY_ATTR + filterMatcherMapClass;
+
+        ApplicationAttributeFactory<FilterMatcherRegistry> factory = new ApplicationAttributeFactory<FilterMatcherRegistry>() {
+            @Override
+            public FilterMatcherRegistry create() {
+		
+                return createSharedFilterMatcherRegistry();
+            }
+        };
+
+        if (webContext == null) {
+            return factory.create();
+        }
+
+        return WebContextUtils.getApplicationAttribute(webContext, attribute, FilterMatcherRegistry.class, factory);
+    }
+
+    private FilterMatcherRegistry createSharedFilterMatcherRegistry() {
+		
+        FilterMatcherRegistry result = new FilterMatcherRegistry();
+
+        FilterMatcherMap filterMatcherMap = PreferencesUtils.<FilterMatcherMap>createClassFromPreferences(getPreferences(), FILTER_MATCHER_MAP);
+        Map<MatcherKey, FilterMatcher> filterMatchersMap = filterMatcherMap.getFilterMatchers();
+
+        for (Map.Entry<MatcherKey, FilterMatcher> entry : filterMatchersMap.entrySet()) {
+            result.addFilterMatcher(entry.getKey(), entry.getValue());
+        }
+
+        return result;
+    }
+
+    /**
+     * Add a FilterMatcher to the FilterMatcherRegistry. The shared registry is copied first so
+     * that the FilterMatcher is only used for this table.
      *
      * @param key The MatcherKey instance.
      * @param matcher The FilterMatcher instance.
@@ -98,7 +146,14 @@ public class CoreContextFactory {
     public void addFilterMatcher(MatcherKey key, FilterMatcher matcher) {
 		
         SupportUtils.setWebContext(matcher, webContext);
-        getFilterMatcherRegistry().addFilterMatcher(key, matcher);
+
+        FilterMatcherRegistry filterMatcherRegistry = getFilterMatcherRegistry();
+        if (sharedRegistry) {
+            registry = new FilterMatcherRegistry(filterMatcherRegistry);
+            sharedRegistry = false;
+        }
+
+        registry.addFilterMatcher(key, matcher);
     }
 
     protected RowFilter getRowFilter() {
@@ -107,6 +162,8 @@ public class CoreContextFactory {
             rowFilter = PreferencesUtils.<RowFilter>createClassFromPreferences(getPreferences(), ROW_FILTER);
         }
         SupportUtils.setFilterMatcherRegistry(rowFilter, getFilterMatcherRegistry());
+        SupportUtils.setPreferences(rowFilter, getPreferences());
+        SupportUtils.setPropertyTypes(rowFilter, propertyTypes);
 
         return rowFilter;
     }
@@ -126,6 +183,8 @@ public class CoreContextFactory {
         if (columnSort == null) {
             columnSort = PreferencesUtils.<ColumnSort>createClassFromPreferences(getPreferences(), COLUMN_SORT);
         }
+        SupportUtils.setPreferences(columnSort, getPreferences());
+        SupportUtils.setPropertyTypes(columnSort, propertyTypes);
 
         return columnSort;
     }
@@ -178,6 +237,63 @@ public class CoreContextFactory {
         this.messages = messages;
     }
 
+    /**
+     * Set a version of the items to cache the filtered and sorted rows, and the droplist filter
+     * options, in the application scope. The version needs to change whenever the items change.
+     * The cache is shared by all the users, so if the items are different for each user then the
+     * version needs to include the user as well.
+     *
+     * @param dataVersion The version of the items, or null to not cache the rows.
+     * @since 4.1
+     */
+    public void setDataVersion(Object dataVersion) {
+		
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * Declare the type of a property so that the row filter and the column sort do not need to
+     * find it from the items.
+     *
+     * @param property The column property.
+     * @param type The type of the property.
+     * @since 4.1
+     */
+    public void setPropertyType(String property, Class<?> type) {
+		
+        if (propertyTypes == null) {
+            propertyTypes = new HashMap<String, Class<?>>();
+        }
+
+        propertyTypes.put(property, type);
+    }
+
+    private ItemsCache getItemsCache() {
+		
+        return WebContextUtils.getApplicationAttribute(webContext, ITEMS_CACHE_ATTR, ItemsCache.class,
+            new ApplicationAttributeFactory<ItemsCache>() {
+                @Override
+                public ItemsCache create() {
+		
+                    long maxEntries = getLongPreference(ITEMS_CACHE_MAX_ENTRIES, 100);
+                    long maxRows = getLongPreference(ITEMS_CACHE_MAX_ROWS, 2000000);
+                    long timeToLive = getLongPreference(ITEMS_CACHE_TIME_TO_LIVE, 600000);
+
+                    return new ItemsCache((int) maxEntries, maxRows, timeToLive);
+                }
+            });
+    }
+
+    private long getLongPreference(String code, long defaultValue) {
+		
+        String value = getPreferences().getPreference(code);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+
+        return Long.parseLong(value.trim());
+    }
+
     /**
      * Take all the attributes of the factory and create a CoreContext object.
      *
@@ -189,10 +305,14 @@ public class CoreContextFactory {
 		
         Items itemsImpl;
 
-        if (autoFilterAndSort) {
-            itemsImpl = new Items(items, limit, getRowFilter(), getColumnSort());
+        boolean readOnlyView = Boolean.valueOf(getPreferences().getPreference(ITEMS_READ_ONLY_VIEW));
+
+        if (autoFilterAndSort && dataVersion != null && webContext != null) {
+            itemsImpl = new Items(items, limit, getRowFilter(), getColumnSort(), readOnlyView, getItemsCache(), dataVersion);
+        } else if (autoFilterAndSort) {
+            itemsImpl = new Items(items, limit, getRowFilter(), getColumnSort(), readOnlyView, null, dataVersion);
         } else {
-            itemsImpl = new Items(items, limit, new DefaultRowFilter(), new DefaultColumnSort());
+            itemsImpl = new Items(items, limit, new DefaultRowFilter(), new DefaultColumnSort(), readOnlyView, null, dataVersion);
         }
 
         CoreContext coreContext = new CoreContext(itemsImpl, limit, worksheet, getPreferences(), getMessages());
@@ -15,18 +15,38 @@
  */
 package org.jmesa.core;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 
+import org.jmesa.core.filter.RefinableRowFilter;
 import org.jmesa.core.filter.RowFilter;
 import org.jmesa.core.sort.ColumnSort;
+import org.jmesa.core.sort.PartiallySorted;
+import org.jmesa.limit.FilterSet;
 import org.jmesa.limit.Limit;
 import org.jmesa.limit.RowSelect;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * <p>
+ * Holds the items as they move through the filter, sort, and page steps.
+ * </p>
+ *
+ * <p>
+ * By default the items are copied into a new List for thread safety. In the read only view
+ * mode the items are wrapped as an unmodifiable view of the source List instead. A copy is then
+ * only made when the items actually need to be sorted, and the page items are a subList view
+ * of the sorted items. The view mode expects that the source List is not modified while the
+ * table is being built.
+ * </p>
+ *
  * @since 2.0
  * @author Jeff Johnston
  */
@@ -38,26 +58,160 @@ public class Items {
     private Collection<?> filteredItems;
     private Collection<?> pageItems;
     private Collection<?> sortedItems;
+    private Object dataVersion;
 
     public Items(Collection<?> items, Limit limit, RowFilter rowFilter, ColumnSort columnSort) {
 		
-        this.allItems = new ArrayList<Object>(items); // copy for thread safety
+        this(items, limit, rowFilter, columnSort, false);
+    }
 
-        this.filteredItems = rowFilter.filterItems(allItems, limit);
+    /**
+     * @param items The Collection of Beans or Maps.
+     * @param limit The Limit instance.
+     * @param rowFilter The RowFilter instance.
+     * @param columnSort The ColumnSort instance.
+     * @param readOnlyView Is true if the items should be used as a read only view instead of being copied.
+     * @since 4.1
+     */
+    public Items(Collection<?> items, Limit limit, RowFilter rowFilter, ColumnSort columnSort, boolean readOnlyView) {
+		
+        this(items, limit, rowFilter, columnSort, readOnlyView, null, null);
+    }
+
+    /**
+     * <p>
+     * If the ItemsCache has the filtered and sorted rows for the data version then the rows are
+     * read through the cached row indexes, and the items are not filtered and sorted again. The
+     * filtered items are then in the sorted order. Otherwise the rows are filtered and sorted and
+     * the row indexes are put in the cache.
+     * </p>
+     *
+     * <p>
+     * If the RowFilter is a RefinableRowFilter and the FilterSet is a refinement of the last
+     * FilterSet of the table then only the rows that the last FilterSet matched are filtered.
+     * </p>
+     *
+     * @param items The Collection of Beans or Maps.
+     * @param limit The Limit instance.
+     * @param rowFilter The RowFilter instance.
+     * @param columnSort The ColumnSort instance.
+     * @param readOnlyView Is true if the items should be used as a read only view instead of being copied.
+     * @param itemsCache The ItemsCache, or null to not cache the rows.
+     * @param dataVersion The version of the items, which changes whenever the items change.
+     * @since 4.1
+     */
+    public Items(Collection<?> items, Limit limit, RowFilter rowFilter, ColumnSort columnSort, boolean readOnlyView,
+            ItemsCache itemsCache, Object dataVersion) {
+		
+        this.dataVersion = dataVersion;
+
+        if (items instanceof StreamedItems) {
+            this.allItems = items;
+            this.filteredItems = items;
+            this.sortedItems = items;
+            this.pageItems = items;
+            return;
+        }
+
+        boolean useView = readOnlyView && items instanceof List && items instanceof RandomAccess;
+
+        if (useView) {
+            this.allItems = Collections.unmodifiableList((List<?>) items);
+        } else {
+            this.allItems = new ArrayList<Object>(items); // copy for thread safety
+        }
+
+        Object cacheKey = null;
+        if (itemsCache != null) {
+            cacheKey = ItemsCache.createKey(limit, dataVersion, allItems.size());
+            int[] indexes = itemsCache.get(cacheKey, limit.getRowSelect().getRowEnd());
+            if (indexes != null) {
+                this.sortedItems = new IndexedList((List<?>) allItems, indexes);
+                this.filteredItems = sortedItems;
+
+                if (indexes.length != allItems.size()) {
+                    recalculateRowSelect(filteredItems, limit);
+                }
+
+                this.pageItems = getPageItems(sortedItems, limit, useView);
+                return;
+            }
+        }
+
+        // read the positions before the sort, which can sort all the items in place
+        Map<Object, Integer> positions = null;
+        if (itemsCache != null) {
+            positions = getPositions(allItems);
+            this.filteredItems = filterItems(rowFilter, limit, itemsCache, dataVersion, positions);
+        } else {
+            this.filteredItems = rowFilter.filterItems(allItems, limit);
+        }
 
         if (filteredItems.size() != allItems.size()) {
             recalculateRowSelect(filteredItems, limit);
         }
 
-        this.sortedItems = columnSort.sortItems(filteredItems, limit);
+        Collection<?> itemsToSort = filteredItems;
+        if (useView && filteredItems == allItems && limit.getSortSet().isSorted()) {
+            // the sort is done in place so the view needs to be materialized first
+            itemsToSort = new ArrayList<Object>(filteredItems);
+        }
+
+        this.sortedItems = columnSort.sortItems(itemsToSort, limit);
 
-        this.pageItems = getPageItems(sortedItems, limit);
+        if (itemsCache != null) {
+            int[] indexes = getIndexes(positions, sortedItems);
+            if (indexes != null) {
+                int sortedRows = indexes.length;
+                if (sortedItems instanceof PartiallySorted) {
+                    sortedRows = ((PartiallySorted) sortedItems).getSortedRows();
+                }
+                itemsCache.put(cacheKey, indexes, sortedRows);
+            }
+        }
+
+        this.pageItems = getPageItems(sortedItems, limit, useView);
 
         if (logger.isDebugEnabled()) {
             logger.debug(limit.toString());
         }
     }
 
+    /**
+     * Filter only the rows of the last FilterSet if the FilterSet is a refinement of it, and keep
+     * the filtered rows for the next time.
+     */
+    private Collection<?> filterItems(RowFilter rowFilter, Limit limit, ItemsCache itemsCache, Object dataVersion,
+            Map<Object, Integer> positions) {
+		
+        FilterSet filterSet = limit.getFilterSet();
+        if (!filterSet.isFiltered() || !(rowFilter instanceof RefinableRowFilter)) {
+            return rowFilter.filterItems(allItems, limit);
+        }
+
+        Object filteredKey = ItemsCache.createFilteredKey(limit, dataVersion, allItems.size());
+
+        Collection<?> itemsToFilter = allItems;
+        ItemsCache.FilteredRows filteredRows = itemsCache.getFilteredRows(filteredKey);
+        if (filteredRows != null && ((RefinableRowFilter) rowFilter).isRefinement(allItems, filterSet, filteredRows.getFilterSet())) {
+            itemsToFilter = new IndexedList((List<?>) allItems, filteredRows.getIndexes());
+        }
+
+        Collection<?> results = rowFilter.filterItems(itemsToFilter, limit);
+
+        int[] indexes = getIndexes(positions, results);
+        if (indexes != null) {
+            itemsCache.putFilteredRows(filteredKey, filterSet, indexes);
+        }
+
+        if (results instanceof IndexedList) {
+            // the sort is done in place so the rows need to be copied first
+            return new ArrayList<Object>(results);
+        }
+
+        return results;
+    }
+
     public Collection<?> getAllItems() {
 		
         return allItems;
@@ -78,11 +232,26 @@ public class Items {
         this.pageItems = pageItems;
     }
 
+    /**
+     * @return The filtered items in the sorted order. If the ColumnSort only sorted the rows up
+     *         to the end of the page, such as the PartialColumnSort, or the rows were read from
+     *         the ItemsCache after such a sort, then only those rows are sure to be in the sorted
+     *         order.
+     */
     public Collection<?> getSortedItems() {
 		
         return sortedItems;
     }
 
+    /**
+     * @return The version of the items, or null if it was not set.
+     * @since 4.1
+     */
+    public Object getDataVersion() {
+		
+        return dataVersion;
+    }
+
     /**
      * Need to recalculate the RowSelect object if the items needed to be
      * filtered.
@@ -99,7 +268,7 @@ public class Items {
         limit.setRowSelect(recalcRowSelect);
     }
 
-    private Collection<?> getPageItems(Collection<?> items, Limit limit) {
+    private Collection<?> getPageItems(Collection<?> items, Limit limit, boolean useView) {
 		
         int rowStart = limit.getRowSelect().getRowStart();
         int rowEnd = limit.getRowSelect().getRowEnd();
@@ -121,6 +290,10 @@ public class Items {
             rowEnd = items.size();
         }
 
+        if (useView) {
+            return ((List<?>) items).subList(rowStart, rowEnd);
+        }
+
         Collection<Object> results = new ArrayList<Object>();
         for (int i = rowStart; i < rowEnd; i++) {
             Object item = ((List<?>) items).get(i);
@@ -129,4 +302,61 @@ public class Items {
 
         return results;
     }
+
+    private Map<Object, Integer> getPositions(Collection<?> allItems) {
+		
+        Map<Object, Integer> positions = new IdentityHashMap<Object, Integer>(allItems.size());
+        int position = 0;
+        for (Object item : allItems) {
+            positions.put(item, position++);
+        }
+
+        return positions;
+    }
+
+    /**
+     * @return The position of each item in all the items, or null if the RowFilter or
+     *         ColumnSort returned an item that is not one of all the items.
+     */
+    private int[] getIndexes(Map<Object, Integer> positions, Collection<?> items) {
+		
+        int[] indexes = new int[items.size()];
+        int i = 0;
+        for (Object item : items) {
+            Integer position = positions.get(item);
+            if (position == null) {
+                return null;
+            }
+            indexes[i++] = position;
+        }
+
+        return indexes;
+    }
+
+    /**
+     * A read only List of the items at the row indexes.
+     */
+    private static class IndexedList extends AbstractList<Object> implements RandomAccess {
+		
+        private final List<?> items;
+        private final int[] indexes;
+
+        IndexedList(List<?> items, int[] indexes) {
+		
+            this.items = items;
+            this.indexes = indexes;
+        }
+
+        @Override
+        public Object get(int index) {
+		
+            return items.get(indexes[index]);
+        }
+
+        @Override
+        public int size() {
+		
+            return indexes.length;
+        }
+    }
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jmesa.limit.Filter;
+import org.jmesa.limit.FilterSet;
+import org.jmesa.limit.Limit;
+import org.jmesa.limit.Sort;
+
+/**
+ * <p>
+ * An application wide cache of the filtered and sorted row indexes of a table. Paging through a
+ * table then only needs a slice of the cached rows instead of filtering and sorting all the items
+ * again.
+ * </p>
+ *
+ * <p>
+ * The rows are cached by the table id, the filters, the sorts, the number of items and a data
+ * version that the caller supplies. The caller needs to change the data version whenever the
+ * items change. The number of items is only there so that rows cached for another number of
+ * items are never read. The cache is
+ * shared by all the users of the application, so tables with the same id and data version share
+ * their rows. If the items of a table are different for each user then the data version needs to
+ * tell them apart too, for example by including the user id. The least
+ * recently used results are removed when there are more than maxEntries results, or when the
+ * results hold more than maxRows row indexes all together. A result is also removed once it is
+ * older than the timeToLive.
+ * </p>
+ *
+ * <p>
+ * Partially sorted rows are only used while the requested page is within the sorted rows.
+ * </p>
+ *
+ * <p>
+ * The rows of the last FilterSet of each table are also kept, so that a RefinableRowFilter only
+ * has to filter those rows again when the new FilterSet is a refinement of the last one.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ItemsCache {
+		
+    private final int maxEntries;
+    private final long maxRows;
+    private final long timeToLive;
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true);
+    private long cachedRows;
+
+    /**
+     * @param maxEntries The most results to keep.
+     * @param maxRows The most row indexes to keep for all the results.
+     * @param timeToLive The milliseconds to keep a result for.
+     */
+    public ItemsCache(int maxEntries, long maxRows, long timeToLive) {
+		
+        this.maxEntries = maxEntries;
+        this.maxRows = maxRows;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * @param dataVersion Changes whenever the items of the table change.
+     * @param itemCount The number of all the items.
+     * @return The key for the filtered and sorted rows of the table. The key is made of the
+     *         values themselves so that no two tables, filters or sorts get the same key.
+     */
+    public static Object createKey(Limit limit, Object dataVersion, int itemCount) {
+		
+        // the filters are not ordered so sort them to always get the same key
+        Map<String, String> filters = new TreeMap<String, String>();
+        for (Filter filter : limit.getFilterSet().getFilters()) {
+            filters.put(filter.getProperty(), filter.getValue());
+        }
+
+        List<Object> sorts = new ArrayList<Object>();
+        for (Sort sort : limit.getSortSet().getSorts()) {
+            sorts.add(Arrays.<Object>asList(sort.getProperty(), sort.getOrder()));
+        }
+
+        return Arrays.<Object>asList(limit.getId(), dataVersion, itemCount, filters, sorts);
+    }
+
+    /**
+     * @param dataVersion Changes whenever the items of the table change.
+     * @param itemCount The number of all the items.
+     * @return The key for the last filtered rows of the table.
+     */
+    public static Object createFilteredKey(Limit limit, Object dataVersion, int itemCount) {
+		
+        return Arrays.<Object>asList(limit.getId(), dataVersion, itemCount);
+    }
+
+    /**
+     * @return The cached row indexes, or null if the rows are not cached.
+     */
+    public synchronized int[] get(Object key) {
+		
+        Entry entry = getEntry(key);
+        if (entry == null) {
+            return null;
+        }
+
+        return entry.indexes;
+    }
+
+    /**
+     * @param rowEnd The row after the last row that needs to be in the sorted order.
+     * @return The cached row indexes, or null if the rows are not cached or if not enough of
+     *         them are sorted.
+     * @since 4.1
+     */
+    public synchronized int[] get(Object key, int rowEnd) {
+		
+        Entry entry = getEntry(key);
+        if (entry == null || entry.sortedRows < Math.min(rowEnd, entry.indexes.length)) {
+            return null;
+        }
+
+        return entry.indexes;
+    }
+
+    private Entry getEntry(Object key) {
+		
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (isExpired(entry, System.currentTimeMillis())) {
+            remove(key);
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * @param indexes The filtered and sorted row indexes.
+     */
+    public synchronized void put(Object key, int[] indexes) {
+		
+        put(key, indexes, indexes.length);
+    }
+
+    /**
+     * @param indexes The filtered and sorted row indexes.
+     * @param sortedRows The number of rows at the start of the indexes that are in sorted order.
+     */
+    public synchronized void put(Object key, int[] indexes, int sortedRows) {
+		
+        if (indexes.length > maxRows) {
+            return;
+        }
+
+        remove(key);
+
+        entries.put(key, new Entry(indexes, sortedRows, null, System.currentTimeMillis()));
+        cachedRows += indexes.length;
+
+        evict();
+    }
+
+    /**
+     * @return The last filtered rows, or null if the rows are not cached.
+     */
+    public synchronized FilteredRows getFilteredRows(Object key) {
+		
+        int[] indexes = get(key);
+        if (indexes == null) {
+            return null;
+        }
+
+        return new FilteredRows(entries.get(key).filterSet, indexes);
+    }
+
+    /**
+     * @param filterSet The FilterSet that the rows were filtered with.
+     * @param indexes The filtered row indexes.
+     */
+    public synchronized void putFilteredRows(Object key, FilterSet filterSet, int[] indexes) {
+		
+        if (indexes.length > maxRows) {
+            return;
+        }
+
+        FilterSet copy = new FilterSet();
+        for (Filter filter : filterSet.getFilters()) {
+            copy.addFilter(filter);
+        }
+
+        remove(key);
+
+        entries.put(key, new Entry(indexes, indexes.length, copy, System.currentTimeMillis()));
+        cachedRows += indexes.length;
+
+        evict();
+    }
+
+    /**
+     * Remove all the results.
+     */
+    public synchronized void clear() {
+		
+        entries.clear();
+        cachedRows = 0;
+    }
+
+    private void remove(Object key) {
+		
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            cachedRows -= entry.indexes.length;
+        }
+    }
+
+    private void evict() {
+		
+        long now = System.currentTimeMillis();
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entries.size() > maxEntries || cachedRows > maxRows || isExpired(entry, now)) {
+                iterator.remove();
+                cachedRows -= entry.indexes.length;
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+		
+        return timeToLive > 0 && now - entry.created > timeToLive;
+    }
+
+    private static class Entry {
+		
+        private final int[] indexes;
+        private final int sortedRows;
+        private final FilterSet filterSet;
+        private final long created;
+
+        Entry(int[] indexes, int sortedRows, FilterSet filterSet, long created) {
+		
+            this.indexes = indexes;
+            this.sortedRows = sortedRows;
+            this.filterSet = filterSet;
+            this.created = created;
+        }
+    }
+
+    /**
+     * The rows that the last FilterSet of a table matched.
+     */
+    public static class FilteredRows {
+		
+        private final FilterSet filterSet;
+        private final int[] indexes;
+
+        FilteredRows(FilterSet filterSet, int[] indexes) {
+		
+            this.filterSet = filterSet;
+            this.indexes = indexes;
+        }
+
+        /**
+         * @return The FilterSet that the rows were filtered with.
+         */
+        public FilterSet getFilterSet() {
+		
+            return filterSet;
+        }
+
+        /**
+         * @return The filtered row indexes, in the order of all the items.
+         */
+        public int[] getIndexes() {
+		
+            return indexes;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core;
+
+/**
+ * <p>
+ * Marks a Collection of items that is read as it is iterated, such as the rows of a chunked
+ * export. The Items object will use it as is. It is not copied, filtered, sorted or paged, so the
+ * Collection should already hold the rows in the order that they are rendered.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public interface StreamedItems {
+		
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.dataset;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.jmesa.core.filter.FilterMatcher;
+import org.jmesa.limit.Filter;
+import org.jmesa.limit.FilterSet;
+import org.jmesa.limit.Limit;
+
+/**
+ * <p>
+ * Filters the items with one BitSet of matching rows for each column filter. The BitSets are
+ * combined with a logical and, starting with the column filter that matches the fewest rows.
+ * </p>
+ *
+ * <p>
+ * The BitSets are kept by the ColumnarDataset so they are shared across requests. When one filter
+ * out of several is changed only that column is matched again. Set the row filter on the
+ * TableFacade (or the CoreContextFactory) for each request with the shared dataset.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class BitmapRowFilter extends ColumnarRowFilter {
+		
+    public BitmapRowFilter(ColumnarDataset dataset) {
+		
+        super(dataset);
+    }
+
+    @Override
+    public Collection<?> filterItems(Collection<?> items, Limit limit) {
+		
+        FilterSet filterSet = limit.getFilterSet();
+        if (!filterSet.isFiltered() || items.isEmpty()) {
+            return super.filterItems(items, limit);
+        }
+
+        BitSet matches = getMatches(items, filterSet);
+        if (matches == null) {
+            return super.filterItems(items, limit);
+        }
+
+        ColumnarDataset dataset = getDataset();
+        int[] indexes = dataset.getIndexes(items);
+        if (indexes == null) {
+            return super.filterItems(items, limit);
+        }
+
+        List<Object> results = new ArrayList<Object>();
+        for (int index : indexes) {
+            if (matches.get(index)) {
+                results.add(dataset.getRow(index));
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * @return The dataset rows that match every filter, or null if one of the filters cannot be
+     *         matched on the dataset.
+     */
+    private BitSet getMatches(Collection<?> items, FilterSet filterSet) {
+		
+        ColumnarDataset dataset = getDataset();
+        Map<Filter, FilterMatcher> filterMatchers = getFilterMatchers(items, filterSet);
+
+        List<BitSet> bitmaps = new ArrayList<BitSet>();
+        for (Filter filter : filterSet.getFilters()) {
+            String property = filter.getProperty();
+            FilterMatcher filterMatcher = filterMatchers.get(filter);
+            if (!dataset.hasColumn(property) || filterMatcher == null) {
+                return null;
+            }
+
+            bitmaps.add(dataset.getFilterBitmap(property, filterMatcher, filter.getValue()));
+        }
+
+        BitSet smallest = bitmaps.get(0);
+        for (BitSet bitmap : bitmaps) {
+            if (bitmap.cardinality() < smallest.cardinality()) {
+                smallest = bitmap;
+            }
+        }
+
+        BitSet result = (BitSet) smallest.clone();
+        for (BitSet bitmap : bitmaps) {
+            if (bitmap != smallest) {
+                result.and(bitmap);
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.dataset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.jmesa.core.dataset.ColumnarDataset.Column;
+import org.jmesa.core.sort.MultiColumnSort;
+import org.jmesa.core.sort.RowComparator;
+import org.jmesa.limit.Limit;
+import org.jmesa.limit.Order;
+import org.jmesa.limit.Sort;
+
+/**
+ * <p>
+ * Sorts the items on the columns of a ColumnarDataset. The rows are compared on the column arrays
+ * so no sort values need to be read, and text columns are compared by the rank of each distinct
+ * value. The row indexes are sorted with the stable merge sort of the RowComparator and the items
+ * are sorted in place, the same as the MultiColumnSort.
+ * </p>
+ *
+ * <p>
+ * If a sort property is not a column of the dataset, or the items are not rows of the dataset,
+ * then the items are sorted by the MultiColumnSort.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ColumnarColumnSort extends MultiColumnSort {
+		
+    private final ColumnarDataset dataset;
+
+    public ColumnarColumnSort(ColumnarDataset dataset) {
+		
+        this.dataset = dataset;
+    }
+
+    @Override
+    public Collection<?> sortItems(Collection<?> items, Limit limit) {
+		
+        if (items.isEmpty() || !(items instanceof List)) {
+            return super.sortItems(items, limit);
+        }
+
+        List<Column> columns = new ArrayList<Column>();
+        List<Boolean> descending = new ArrayList<Boolean>();
+
+        for (Sort sort : limit.getSortSet().getSorts()) {
+            Order order = sort.getOrder();
+            if (order != Order.ASC && order != Order.DESC) {
+                continue;
+            }
+
+            Column column = dataset.getColumn(sort.getProperty());
+            if (column == null) {
+                return super.sortItems(items, limit);
+            }
+
+            columns.add(column);
+            descending.add(order == Order.DESC);
+        }
+
+        if (columns.isEmpty()) {
+            return items;
+        }
+
+        int[] indexes = dataset.getIndexes(items);
+        if (indexes == null) {
+            return super.sortItems(items, limit);
+        }
+
+        new ColumnComparator(columns, descending).sort(indexes, 0, indexes.length);
+
+        setItems((List<?>) items, indexes);
+
+        return items;
+    }
+
+    /**
+     * Put the dataset rows back in the items in the order of the sorted indexes.
+     */
+    @SuppressWarnings("unchecked")
+    private void setItems(List<?> items, int[] indexes) {
+		
+        ListIterator<Object> iterator = ((List<Object>) items).listIterator();
+        for (int index : indexes) {
+            iterator.next();
+            iterator.set(dataset.getRow(index));
+        }
+    }
+
+    private static class ColumnComparator extends RowComparator {
+		
+        private final Column[] columns;
+        private final boolean[] descending;
+
+        ColumnComparator(List<Column> columns, List<Boolean> descending) {
+		
+            this.columns = columns.toArray(new Column[columns.size()]);
+            this.descending = new boolean[descending.size()];
+            for (int i = 0; i < this.descending.length; i++) {
+                this.descending[i] = descending.get(i);
+            }
+        }
+
+        @Override
+        public int compare(int row1, int row2) {
+		
+            for (int c = 0; c < columns.length; c++) {
+                int result = columns[c].compare(row1, row2, descending[c]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,714 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.dataset;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections.Predicate;
+import org.jmesa.core.filter.FilterMatcher;
+import org.jmesa.core.filter.FilterMatcherPredicate;
+import org.jmesa.util.ClassCache;
+import org.jmesa.util.ItemUtils;
+
+/**
+ * <p>
+ * The items of a table held by column. Each column property is read once when the dataset is
+ * built. Whole number and date columns are held as a long array, decimal number columns as a
+ * double array, and text columns as an int array of codes into a dictionary of the distinct
+ * values. Any other column is held as an array of the values.
+ * </p>
+ *
+ * <p>
+ * The ColumnarRowFilter and ColumnarColumnSort then filter and sort the rows on the column arrays
+ * instead of reading the Bean properties row by row. A text filter is only matched once for each
+ * distinct value. The dataset does not change after it is built so it can be shared, for example
+ * in the application scope, for as long as the items do not change.
+ * </p>
+ *
+ * <p>
+ * The rows that match a column filter are kept as a BitSet for the most recently used filters. A
+ * filter that has not changed since the last request does not need to be matched again. The
+ * filters are told apart by the class of the FilterMatcher if it has no instance fields, such as
+ * the StringFilterMatcher. A FilterMatcher with instance fields, such as the NumberFilterMatcher
+ * with its pattern, is told apart by the instance, so it needs to be the same instance for every
+ * request. The FilterMatcher objects of the shared FilterMatcherRegistry are.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ColumnarDataset {
+		
+    public static final int DEFAULT_MAX_FILTER_BITMAPS = 64;
+
+    private final Object[] rows;
+    private final List<Object> rowList;
+    private final Map<String, Column> columns = new HashMap<String, Column>();
+    private volatile Map<Object, Integer> rowIndexes;
+    private final FilterBitmaps filterBitmaps = new FilterBitmaps();
+    private volatile int maxFilterBitmaps = DEFAULT_MAX_FILTER_BITMAPS;
+
+    /**
+     * @param items The Collection of Beans or Maps.
+     * @param properties The column properties to hold.
+     */
+    public ColumnarDataset(Collection<?> items, String... properties) {
+		
+        this.rows = items.toArray();
+        this.rowList = Collections.unmodifiableList(Arrays.asList(rows));
+
+        for (String property : properties) {
+            Object[] values = new Object[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                values[i] = ItemUtils.getItemValue(rows[i], property);
+            }
+            columns.put(property, createColumn(values));
+        }
+    }
+
+    /**
+     * @return The rows in their original order. Use these as the table items so the rows can be
+     *         found in the dataset without a lookup.
+     */
+    public List<Object> getRows() {
+		
+        return rowList;
+    }
+
+    public int size() {
+		
+        return rows.length;
+    }
+
+    public boolean hasColumn(String property) {
+		
+        return columns.containsKey(property);
+    }
+
+    /**
+     * @param maxFilterBitmaps The most column filters to keep the matching rows for.
+     */
+    public void setMaxFilterBitmaps(int maxFilterBitmaps) {
+		
+        this.maxFilterBitmaps = maxFilterBitmaps;
+    }
+
+    /**
+     * Index the trigrams of the distinct values of a text column. Then the contains and wildcard
+     * filters on the column only need to match the values that have every trigram of the filter.
+     *
+     * @param property The column property.
+     */
+    public void createTrigramIndex(String property) {
+		
+        Column column = columns.get(property);
+        if (!(column instanceof StringColumn)) {
+            throw new IllegalArgumentException("The property " + property + " is not a text column of the dataset.");
+        }
+
+        ((StringColumn) column).createTrigramIndex();
+    }
+
+    Column getColumn(String property) {
+		
+        return columns.get(property);
+    }
+
+    Object getRow(int index) {
+		
+        return rows[index];
+    }
+
+    /**
+     * Get the rows that match the column filter. The rows are only matched the first time the
+     * filter is asked for, until the filter is removed to make room for others.
+     *
+     * @return The matching dataset rows. The BitSet is shared and must not be changed.
+     */
+    BitSet getFilterBitmap(String property, FilterMatcher filterMatcher, String filterValue) {
+		
+        FilterKey key = new FilterKey(property, filterMatcher, filterValue);
+
+        BitSet result;
+        synchronized (filterBitmaps) {
+            result = filterBitmaps.get(key);
+        }
+
+        if (result != null) {
+            return result;
+        }
+
+        RowMatcher rowMatcher = getColumn(property).createMatcher(filterMatcher, filterValue);
+        result = new BitSet(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            if (rowMatcher.matches(i)) {
+                result.set(i);
+            }
+        }
+
+        synchronized (filterBitmaps) {
+            filterBitmaps.put(key, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return The dataset index of each item, or null if one of the items is not in the dataset.
+     */
+    int[] getIndexes(Collection<?> items) {
+		
+        int[] indexes = new int[items.size()];
+
+        if (indexes.length == rows.length) {
+            int i = 0;
+            for (Object item : items) {
+                if (item != rows[i]) {
+                    break;
+                }
+                indexes[i] = i;
+                i++;
+            }
+
+            if (i == rows.length) {
+                return indexes;
+            }
+        }
+
+        Map<Object, Integer> positions = getRowIndexes();
+
+        int i = 0;
+        for (Object item : items) {
+            Integer index = positions.get(item);
+            if (index == null) {
+                return null;
+            }
+            indexes[i++] = index;
+        }
+
+        return indexes;
+    }
+
+    private Map<Object, Integer> getRowIndexes() {
+		
+        Map<Object, Integer> result = rowIndexes;
+        if (result == null) {
+            result = new IdentityHashMap<Object, Integer>(rows.length);
+            for (int i = 0; i < rows.length; i++) {
+                result.put(rows[i], i);
+            }
+            rowIndexes = result;
+        }
+
+        return result;
+    }
+
+    private static Column createColumn(Object[] values) {
+		
+        boolean wholeNumbers = true;
+        boolean decimalNumbers = true;
+        boolean dates = true;
+        boolean strings = true;
+        Class<?> type = null;
+        boolean mixed = false;
+
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+
+            Class<?> valueType = value.getClass();
+            wholeNumbers = wholeNumbers && (valueType == Integer.class || valueType == Long.class || valueType == Short.class || valueType == Byte.class);
+            decimalNumbers = decimalNumbers && (valueType == Double.class || valueType == Float.class);
+            dates = dates && (valueType == Date.class || valueType == java.sql.Date.class);
+            strings = strings && valueType == String.class;
+
+            if (type == null) {
+                type = valueType;
+            } else if (type != valueType) {
+                mixed = true;
+            }
+        }
+
+        if (type == null) {
+            return new ObjectColumn(values);
+        }
+
+        // mixed types keep the values so each one is given back as it was read
+        Object[] originals = mixed ? values : null;
+
+        if (wholeNumbers || dates) {
+            return new LongColumn(values, type, originals);
+        }
+
+        if (decimalNumbers) {
+            return new DoubleColumn(values, type, originals);
+        }
+
+        if (strings) {
+            return new StringColumn(values);
+        }
+
+        return new ObjectColumn(values);
+    }
+
+    /**
+     * The most recently used filter bitmaps.
+     */
+    private class FilterBitmaps extends LinkedHashMap<FilterKey, BitSet> {
+		
+        private static final long serialVersionUID = 1L;
+
+        FilterBitmaps() {
+		
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<FilterKey, BitSet> eldest) {
+		
+            return size() > maxFilterBitmaps;
+        }
+    }
+
+    /**
+     * A column filter. The FilterMatcher is compared by identity because the same matcher
+     * instances are used for as long as the FilterMatcherRegistry is.
+     */
+    private static class FilterKey {
+		
+        private static final ClassCache<Boolean> STATELESS = new ClassCache<Boolean>();
+
+        private final String property;
+        private final Object filterMatcher;
+        private final String filterValue;
+
+        /**
+         * A FilterMatcher without instance fields is kept by its class so that new instances of
+         * it match the same key.
+         */
+        FilterKey(String property, FilterMatcher filterMatcher, String filterValue) {
+		
+            this.property = property;
+            this.filterMatcher = isStateless(filterMatcher.getClass()) ? filterMatcher.getClass() : filterMatcher;
+            this.filterValue = filterValue;
+        }
+
+        private static boolean isStateless(Class<?> type) {
+		
+            Boolean result = STATELESS.get(type);
+            if (result == null) {
+                result = Boolean.TRUE;
+                for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        if (!Modifier.isStatic(field.getModifiers())) {
+                            result = Boolean.FALSE;
+                        }
+                    }
+                }
+                result = STATELESS.putIfAbsent(type, result);
+            }
+
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+		
+            if (!(o instanceof FilterKey)) {
+                return false;
+            }
+
+            FilterKey other = (FilterKey) o;
+            return property.equals(other.property) && filterMatcher == other.filterMatcher
+                && (filterValue == null ? other.filterValue == null : filterValue.equals(other.filterValue));
+        }
+
+        @Override
+        public int hashCode() {
+		
+            int result = property.hashCode();
+            result = 31 * result + System.identityHashCode(filterMatcher);
+            result = 31 * result + (filterValue == null ? 0 : filterValue.hashCode());
+            return result;
+        }
+    }
+
+    /**
+     * One column of the dataset.
+     */
+    abstract static class Column {
+		
+        abstract boolean isNull(int row);
+
+        /**
+         * @return The value as it was read from the item.
+         */
+        abstract Object getValue(int row);
+
+        /**
+         * Compare the values of two rows that are not null.
+         */
+        abstract int compareValues(int row1, int row2);
+
+        /**
+         * Null values are sorted last for an ascending sort and first for a descending sort, the
+         * same as the SortKeys.
+         */
+        int compare(int row1, int row2, boolean descending) {
+		
+            boolean null1 = isNull(row1);
+            boolean null2 = isNull(row2);
+
+            if (null1 || null2) {
+                int result = null1 == null2 ? 0 : (null1 ? 1 : -1);
+                return descending ? -result : result;
+            }
+
+            // swap the rows instead of negating, which would not reverse Integer.MIN_VALUE
+            if (descending) {
+                return compareValues(row2, row1);
+            }
+
+            return compareValues(row1, row2);
+        }
+
+        /**
+         * @return Is true if the value of the row is not null and matches the filter value.
+         */
+        RowMatcher createMatcher(FilterMatcher filterMatcher, String filterValue) {
+		
+            final Predicate predicate = FilterMatcherPredicate.prepare(filterMatcher, filterValue);
+
+            return new RowMatcher() {
+                @Override
+                public boolean matches(int row) {
+		
+                    return !isNull(row) && predicate.evaluate(getValue(row));
+                }
+            };
+        }
+    }
+
+    /**
+     * Matches the rows of a column against one filter value.
+     */
+    interface RowMatcher {
+		
+        boolean matches(int row);
+    }
+
+    private static class LongColumn extends Column {
+		
+        private final long[] values;
+        private final boolean[] nulls;
+        private final Class<?> type;
+        private final Object[] originals;
+
+        LongColumn(Object[] objects, Class<?> type, Object[] originals) {
+		
+            this.values = new long[objects.length];
+            this.nulls = new boolean[objects.length];
+            this.type = type;
+            this.originals = originals;
+
+            for (int i = 0; i < objects.length; i++) {
+                Object value = objects[i];
+                if (value == null) {
+                    nulls[i] = true;
+                } else if (value instanceof Date) {
+                    values[i] = ((Date) value).getTime();
+                } else {
+                    values[i] = ((Number) value).longValue();
+                }
+            }
+        }
+
+        @Override
+        boolean isNull(int row) {
+		
+            return nulls[row];
+        }
+
+        @Override
+        Object getValue(int row) {
+		
+            if (originals != null) {
+                return originals[row];
+            }
+
+            if (nulls[row]) {
+                return null;
+            }
+
+            long value = values[row];
+            if (type == Integer.class) {
+                return Integer.valueOf((int) value);
+            } else if (type == Long.class) {
+                return Long.valueOf(value);
+            } else if (type == Short.class) {
+                return Short.valueOf((short) value);
+            } else if (type == Byte.class) {
+                return Byte.valueOf((byte) value);
+            } else if (type == java.sql.Date.class) {
+                return new java.sql.Date(value);
+            }
+
+            return new Date(value);
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+		
+            long value1 = values[row1];
+            long value2 = values[row2];
+            return value1 < value2 ? -1 : (value1 == value2 ? 0 : 1);
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+		
+        private final double[] values;
+        private final boolean[] nulls;
+        private final Class<?> type;
+        private final Object[] originals;
+
+        DoubleColumn(Object[] objects, Class<?> type, Object[] originals) {
+		
+            this.values = new double[objects.length];
+            this.nulls = new boolean[objects.length];
+            this.type = type;
+            this.originals = originals;
+
+            for (int i = 0; i < objects.length; i++) {
+                Object value = objects[i];
+                if (value == null) {
+                    nulls[i] = true;
+                } else {
+                    values[i] = ((Number) value).doubleValue();
+                }
+            }
+        }
+
+        @Override
+        boolean isNull(int row) {
+		
+            return nulls[row];
+        }
+
+        @Override
+        Object getValue(int row) {
+		
+            if (originals != null) {
+                return originals[row];
+            }
+
+            if (nulls[row]) {
+                return null;
+            }
+
+            if (type == Float.class) {
+                return Float.valueOf((float) values[row]);
+            }
+
+            return Double.valueOf(values[row]);
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+		
+            return Double.compare(values[row1], values[row2]);
+        }
+    }
+
+    /**
+     * The distinct values are held once in the dictionary. The rank of each dictionary value is
+     * its position in sorted order, so two rows are compared by their ranks.
+     */
+    private static class StringColumn extends Column {
+		
+        private final int[] codes;
+        private final String[] dictionary;
+        private final int[] ranks;
+        private volatile TrigramIndex trigramIndex;
+
+        StringColumn(Object[] objects) {
+		
+            this.codes = new int[objects.length];
+
+            Map<String, Integer> dictionaryCodes = new HashMap<String, Integer>();
+            for (int i = 0; i < objects.length; i++) {
+                String value = (String) objects[i];
+                if (value == null) {
+                    codes[i] = -1;
+                    continue;
+                }
+
+                Integer code = dictionaryCodes.get(value);
+                if (code == null) {
+                    code = dictionaryCodes.size();
+                    dictionaryCodes.put(value, code);
+                }
+                codes[i] = code;
+            }
+
+            this.dictionary = new String[dictionaryCodes.size()];
+            for (Map.Entry<String, Integer> entry : dictionaryCodes.entrySet()) {
+                dictionary[entry.getValue()] = entry.getKey();
+            }
+
+            String[] sorted = dictionary.clone();
+            Arrays.sort(sorted);
+
+            Map<String, Integer> sortedPositions = new HashMap<String, Integer>(sorted.length * 2);
+            for (int i = 0; i < sorted.length; i++) {
+                sortedPositions.put(sorted[i], i);
+            }
+
+            this.ranks = new int[dictionary.length];
+            for (int i = 0; i < dictionary.length; i++) {
+                ranks[i] = sortedPositions.get(dictionary[i]);
+            }
+        }
+
+        @Override
+        boolean isNull(int row) {
+		
+            return codes[row] == -1;
+        }
+
+        @Override
+        Object getValue(int row) {
+		
+            int code = codes[row];
+            return code == -1 ? null : dictionary[code];
+        }
+
+        @Override
+        int compareValues(int row1, int row2) {
+		
+            int rank1 = ranks[codes[row1]];
+            int rank2 = ranks[codes[row2]];
+            return rank1 < rank2 ? -1 : (rank1 == rank2 ? 0 : 1);
+        }
+
+        void createTrigramIndex() {
+		
+            TrigramIndex index = new TrigramIndex();
+            for (int code = 0; code < dictionary.length; code++) {
+                index.add(code, dictionary[code]);
+            }
+
+            this.trigramIndex = index;
+        }
+
+        /**
+         * Each distinct value is only matched once. If the column has a trigram index then only
+         * the values that could match are matched.
+         */
+        @Override
+        RowMatcher createMatcher(FilterMatcher filterMatcher, String filterValue) {
+		
+            final Predicate predicate = FilterMatcherPredicate.prepare(filterMatcher, filterValue);
+
+            // 0 is not matched yet, 1 matches and 2 does not match
+            final byte[] matches = new byte[dictionary.length];
+
+            int[] candidates = getCandidates(filterMatcher, filterValue);
+            if (candidates != null) {
+                Arrays.fill(matches, (byte) 2);
+                for (int code : candidates) {
+                    matches[code] = 0;
+                }
+            }
+
+            return new RowMatcher() {
+                @Override
+                public boolean matches(int row) {
+		
+                    int code = codes[row];
+                    if (code == -1) {
+                        return false;
+                    }
+
+                    if (matches[code] == 0) {
+                        matches[code] = predicate.evaluate(dictionary[code]) ? (byte) 1 : (byte) 2;
+                    }
+
+                    return matches[code] == 1;
+                }
+            };
+        }
+
+        /**
+         * @return The codes of the values that could match, or null if every value could.
+         */
+        private int[] getCandidates(FilterMatcher filterMatcher, String filterValue) {
+		
+            TrigramIndex index = trigramIndex;
+            if (index == null) {
+                return null;
+            }
+
+            List<String> literals = TrigramIndex.getLiterals(filterMatcher, filterValue);
+            if (literals == null) {
+                return null;
+            }
+
+            return index.getCandidates(literals);
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+		
+        private final Object[] values;
+
+        ObjectColumn(Object[] values) {
+		
+            this.values = values;
+        }
+
+        @Override
+        boolean isNull(int row) {
+		
+            return values[row] == null;
+        }
+
+        @Override
+        Object getValue(int row) {
+		
+            return values[row];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        int compareValues(int row1, int row2) {
+		
+            return ((Comparable<Object>) values[row1]).compareTo(values[row2]);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.dataset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.jmesa.core.dataset.ColumnarDataset.Column;
+import org.jmesa.core.dataset.ColumnarDataset.RowMatcher;
+import org.jmesa.core.filter.FilterMatcher;
+import org.jmesa.core.filter.SimpleRowFilter;
+import org.jmesa.limit.Filter;
+import org.jmesa.limit.FilterSet;
+import org.jmesa.limit.Limit;
+
+/**
+ * <p>
+ * Filters the items on the columns of a ColumnarDataset. The FilterMatchers are found the same way
+ * as the SimpleRowFilter does, but the values are read from the column arrays instead of the Bean
+ * properties. A text filter is only matched once for each distinct value in the column.
+ * </p>
+ *
+ * <p>
+ * If a filter property is not a column of the dataset, or the items are not rows of the dataset,
+ * then the items are filtered by the SimpleRowFilter.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ColumnarRowFilter extends SimpleRowFilter {
+		
+    private final ColumnarDataset dataset;
+
+    public ColumnarRowFilter(ColumnarDataset dataset) {
+		
+        this.dataset = dataset;
+    }
+
+    protected ColumnarDataset getDataset() {
+		
+        return dataset;
+    }
+
+    @Override
+    public Collection<?> filterItems(Collection<?> items, Limit limit) {
+		
+        FilterSet filterSet = limit.getFilterSet();
+        if (!filterSet.isFiltered() || items.isEmpty()) {
+            return super.filterItems(items, limit);
+        }
+
+        RowMatcher[] rowMatchers = getRowMatchers(items, filterSet);
+        if (rowMatchers == null) {
+            return super.filterItems(items, limit);
+        }
+
+        int[] indexes = dataset.getIndexes(items);
+        if (indexes == null) {
+            return super.filterItems(items, limit);
+        }
+
+        List<Object> results = new ArrayList<Object>();
+        for (int index : indexes) {
+            if (matches(rowMatchers, index)) {
+                results.add(dataset.getRow(index));
+            }
+        }
+
+        return results;
+    }
+
+    private static boolean matches(RowMatcher[] rowMatchers, int index) {
+		
+        for (RowMatcher rowMatcher : rowMatchers) {
+            if (!rowMatcher.matches(index)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The row matchers for each filter, or null if one of the filters cannot be matched
+     *         on the dataset.
+     */
+    private RowMatcher[] getRowMatchers(Collection<?> items, FilterSet filterSet) {
+		
+        Map<Filter, FilterMatcher> filterMatchers = getFilterMatchers(items, filterSet);
+
+        List<RowMatcher> results = new ArrayList<RowMatcher>();
+        for (Filter filter : filterSet.getFilters()) {
+            Column column = dataset.getColumn(filter.getProperty());
+            FilterMatcher filterMatcher = filterMatchers.get(filter);
+            if (column == null || filterMatcher == null) {
+                return null;
+            }
+
+            results.add(column.createMatcher(filterMatcher, filter.getValue()));
+        }
+
+        return results.toArray(new RowMatcher[results.size()]);
+    }
+}
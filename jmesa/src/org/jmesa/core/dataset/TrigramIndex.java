@@ -0,0 +1,268 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jmesa.core.filter.FilterMatcher;
+import org.jmesa.core.filter.StringFilterMatcher;
+import org.jmesa.core.filter.StringWildCardFilterMatcher;
+
+/**
+ * <p>
+ * An inverted index of the three character sequences (trigrams) in a set of text values. Each
+ * value is added with an id, and the ids of the values that have every trigram of a literal are
+ * found by intersecting the sorted id lists of each trigram.
+ * </p>
+ *
+ * <p>
+ * The index only narrows down the values to the candidates that could match. The candidates still
+ * need to be matched with the FilterMatcher. A value is indexed both in lower case and with only
+ * the ASCII letters in lower case, so the candidates include every value that the
+ * StringFilterMatcher or the StringWildCardFilterMatcher could match.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class TrigramIndex {
+		
+    private final Map<Long, Postings> postings = new HashMap<Long, Postings>();
+
+    /**
+     * Add the trigrams of the value for the id.
+     */
+    public synchronized void add(int id, String value) {
+		
+        for (Long trigram : getTrigrams(value)) {
+            Postings ids = postings.get(trigram);
+            if (ids == null) {
+                ids = new Postings();
+                postings.put(trigram, ids);
+            }
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Remove the trigrams of the value for the id. The value needs to be the same as when it was
+     * added.
+     */
+    public synchronized void remove(int id, String value) {
+		
+        for (Long trigram : getTrigrams(value)) {
+            Postings ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.size == 0) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param literals The text that a matching value needs to contain, in lower case.
+     * @return The sorted ids of the values that have every trigram of the literals, or null if
+     *         the literals do not have a trigram to look up.
+     */
+    public synchronized int[] getCandidates(List<String> literals) {
+		
+        List<Postings> lists = new ArrayList<Postings>();
+        for (String literal : literals) {
+            for (Long trigram : getTrigrams(toLowerCaseAscii(literal))) {
+                Postings ids = postings.get(trigram);
+                if (ids == null) {
+                    return new int[0];
+                }
+                lists.add(ids);
+            }
+        }
+
+        if (lists.isEmpty()) {
+            return null;
+        }
+
+        Postings smallest = lists.get(0);
+        for (Postings ids : lists) {
+            if (ids.size < smallest.size) {
+                smallest = ids;
+            }
+        }
+
+        int[] result = new int[smallest.size];
+        int size = 0;
+        for (int i = 0; i < smallest.size; i++) {
+            int id = smallest.ids[i];
+            if (containsAll(lists, id)) {
+                result[size++] = id;
+            }
+        }
+
+        int[] candidates = new int[size];
+        System.arraycopy(result, 0, candidates, 0, size);
+        return candidates;
+    }
+
+    private static boolean containsAll(List<Postings> lists, int id) {
+		
+        for (Postings ids : lists) {
+            if (!ids.contains(id)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the literals that a value needs to contain to be matched by the FilterMatcher.
+     *
+     * @return The literals, or null if the FilterMatcher is not one that the index knows.
+     */
+    static List<String> getLiterals(FilterMatcher filterMatcher, String filterValue) {
+		
+        if (filterValue == null) {
+            return null;
+        }
+
+        Class<?> type = filterMatcher.getClass();
+
+        if (type == StringFilterMatcher.class) {
+            return Arrays.asList(filterValue.toLowerCase());
+        }
+
+        if (type == StringWildCardFilterMatcher.class) {
+            List<String> result = new ArrayList<String>();
+            String filter = filterValue.toLowerCase();
+            int start = 0;
+            for (int i = 0; i <= filter.length(); i++) {
+                if (i == filter.length() || filter.charAt(i) == '*' || filter.charAt(i) == '?') {
+                    if (i > start) {
+                        result.add(filter.substring(start, i));
+                    }
+                    start = i + 1;
+                }
+            }
+            return result;
+        }
+
+        return null;
+    }
+
+    private static Set<Long> getTrigrams(String value) {
+		
+        Set<Long> result = new HashSet<Long>();
+        addTrigrams(toLowerCaseAscii(value), result);
+        addTrigrams(value.toLowerCase(), result);
+        return result;
+    }
+
+    private static void addTrigrams(String value, Set<Long> trigrams) {
+		
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            long trigram = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+            trigrams.add(trigram);
+        }
+    }
+
+    private static String toLowerCaseAscii(String value) {
+		
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            if (c >= 'A' && c <= 'Z') {
+                chars[i] = (char) (c + ('a' - 'A'));
+            }
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * The sorted ids of the values that have one trigram.
+     */
+    private static class Postings {
+		
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+		
+            int index = indexOf(id);
+            if (index >= 0) {
+                return;
+            }
+
+            index = -index - 1;
+            if (size == ids.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(ids, 0, grown, 0, size);
+                ids = grown;
+            }
+
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        void remove(int id) {
+		
+            int index = indexOf(id);
+            if (index < 0) {
+                return;
+            }
+
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        boolean contains(int id) {
+		
+            return indexOf(id) >= 0;
+        }
+
+        /**
+         * @return The index of the id, or (-(insertion point) - 1) if it is not there, the same
+         *         as Arrays.binarySearch.
+         */
+        private int indexOf(int id) {
+		
+            int low = 0;
+            int high = size - 1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int value = ids[middle];
+                if (value < id) {
+                    low = middle + 1;
+                } else if (value > id) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+
+            return -(low + 1);
+        }
+    }
+}
@@ -18,8 +18,11 @@ package org.jmesa.core.filter;
 import java.util.Date;
 import java.util.Locale;
 
+import org.apache.commons.collections.Predicate;
+import org.apache.commons.collections.PredicateUtils;
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang.time.DateFormatUtils;
+import org.apache.commons.lang.time.FastDateFormat;
+import org.jmesa.util.FormatUtils;
 import org.jmesa.web.WebContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,7 +33,7 @@ import org.slf4j.LoggerFactory;
  * @since 2.0
  * @author Jeff Johnston
  */
-public class DateFilterMatcher extends AbstractPatternFilterMatcher {
+public class DateFilterMatcher extends AbstractPatternFilterMatcher implements PreparedFilterMatcher {
 		
     private Logger logger = LoggerFactory.getLogger(DateFilterMatcher.class);
 
@@ -68,20 +71,7 @@ public class DateFilterMatcher extends AbstractPatternFilterMatcher {
             return false;
         }
 
-        Locale locale = null;
-
-        WebContext webContext = getWebContext();
-        if (webContext != null) {
-            locale = webContext.getLocale();
-        }
-
-        if (locale != null) {
-            itemValue = DateFormatUtils.format((Date) itemValue, pattern, locale);
-        } else {
-            itemValue = DateFormatUtils.format((Date) itemValue, pattern);
-        }
-
-        String item = String.valueOf(itemValue);
+        String item = FormatUtils.getDateFormat(pattern, getLocale()).format((Date) itemValue);
         String filter = String.valueOf(filterValue);
         if (StringUtils.contains(item, filter)) {
             return true;
@@ -89,4 +79,41 @@ public class DateFilterMatcher extends AbstractPatternFilterMatcher {
 
         return false;
     }
+
+    /**
+     * The date format is only looked up once.
+     */
+    @Override
+    public Predicate prepare(String filterValue) {
+		
+        String pattern = getPattern();
+        if (pattern == null) {
+            logger.debug("The filter (value " + filterValue + ") is trying to match against a date column using " +
+                    "the DateFilterMatcher, but there is no pattern defined. You need to register a DateFilterMatcher " +
+                    "to be able to filter against this column.");
+            return PredicateUtils.falsePredicate();
+        }
+
+        final FastDateFormat format = FormatUtils.getDateFormat(pattern, getLocale());
+        final String filter = String.valueOf(filterValue);
+
+        return new Predicate() {
+            @Override
+            public boolean evaluate(Object itemValue) {
+		
+                String item = format.format((Date) itemValue);
+                return StringUtils.contains(item, filter);
+            }
+        };
+    }
+
+    private Locale getLocale() {
+		
+        WebContext webContext = getWebContext();
+        if (webContext != null) {
+            return webContext.getLocale();
+        }
+
+        return null;
+    }
 }
@@ -16,9 +16,13 @@
 package org.jmesa.core.filter;
 
 import java.util.Locale;
+import org.apache.commons.collections.Predicate;
+import org.apache.commons.collections.PredicateUtils;
 import org.apache.commons.lang.StringUtils;
+import org.jmesa.util.FormatUtils;
 import org.jmesa.web.WebContext;
 import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormatter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,21 +66,7 @@ public class DateTimeFilterMatcher extends DateFilterMatcher {
             return false;
         }
 
-        Locale locale = null;
-
-        WebContext webContext = getWebContext();
-        if (webContext != null) {
-            locale = webContext.getLocale();
-        }
-
-        DateTime dateTime = (DateTime) itemValue;
-        if (locale != null) {
-            itemValue = dateTime.toString(pattern, locale);
-        } else {
-            itemValue = dateTime.toString(pattern);
-        }
-
-        String item = String.valueOf(itemValue);
+        String item = FormatUtils.getDateTimeFormatter(pattern, getLocale()).print((DateTime) itemValue);
         String filter = String.valueOf(filterValue);
         if (StringUtils.contains(item, filter)) {
             return true;
@@ -84,4 +74,41 @@ public class DateTimeFilterMatcher extends DateFilterMatcher {
 
         return false;
     }
+
+    /**
+     * The date formatter is only looked up once.
+     */
+    @Override
+    public Predicate prepare(String filterValue) {
+		
+        String pattern = getPattern();
+        if (pattern == null) {
+            logger.debug("The filter (value " + filterValue + ") is trying to match against a date column using " +
+                    "the DateTimeFilterMatcher, but there is no pattern defined. You need to register a " +
+                    "DateTimeFilterMatcher to be able to filter against this column.");
+            return PredicateUtils.falsePredicate();
+        }
+
+        final DateTimeFormatter formatter = FormatUtils.getDateTimeFormatter(pattern, getLocale());
+        final String filter = String.valueOf(filterValue);
+
+        return new Predicate() {
+            @Override
+            public boolean evaluate(Object itemValue) {
+		
+                String item = formatter.print((DateTime) itemValue);
+                return StringUtils.contains(item, filter);
+            }
+        };
+    }
+
+    private Locale getLocale() {
+		
+        WebContext webContext = getWebContext();
+        if (webContext != null) {
+            return webContext.getLocale();
+        }
+
+        return null;
+    }
 }
\ No newline at end of file
@@ -35,6 +35,13 @@ package org.jmesa.core.filter;
  * }
  * </pre>
  * 
+ * <p>
+ * The FilterMatcher objects from the filterMatcherMap preference are created once and then used
+ * by all the requests at the same time, and by the threads of the ParallelRowFilter, so they
+ * need to be thread safe. Keep them stateless, or only hold values that never change after the
+ * FilterMatcher is created.
+ * </p>
+ * 
  * @since 2.0
  * @author Jeff Johnston
  */
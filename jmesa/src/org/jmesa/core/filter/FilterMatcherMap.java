@@ -18,7 +18,14 @@ package org.jmesa.core.filter;
 import java.util.Map;
 
 /**
+ * <p>
  * Get a Map of FilterMatcher objects keyed by a MatcherKey.
+ * </p>
+ *
+ * <p>
+ * The Map is only read once for the application and the FilterMatcher objects in it are shared
+ * by all the requests, so they need to be stateless and thread safe.
+ * </p>
  * 
  * @since 2.2
  * @author Jeff Johnston
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.filter;
+
+import java.lang.reflect.Method;
+
+import org.apache.commons.collections.Predicate;
+import org.jmesa.util.ClassCache;
+
+/**
+ * <p>
+ * Matches the item values with a FilterMatcher and one filter value. This is used for the
+ * FilterMatcher objects that are not a PreparedFilterMatcher.
+ * </p>
+ *
+ * <p>
+ * A PreparedFilterMatcher is only prepared if its prepare method is declared in the same class
+ * as its evaluate method, or a subclass of it. That way a subclass of one of the built in
+ * matchers that only overrides the evaluate method is still used the way it was written.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public final class FilterMatcherPredicate implements Predicate {
+		
+    private static final ClassCache<Boolean> PREPARED = new ClassCache<Boolean>();
+
+    private final FilterMatcher filterMatcher;
+    private final String filterValue;
+
+    public FilterMatcherPredicate(FilterMatcher filterMatcher, String filterValue) {
+		
+        this.filterMatcher = filterMatcher;
+        this.filterValue = filterValue;
+    }
+
+    @Override
+    public boolean evaluate(Object itemValue) {
+		
+        return filterMatcher.evaluate(itemValue, filterValue);
+    }
+
+    /**
+     * @return The prepared Predicate for the filter value, or else the FilterMatcher wrapped in a
+     *         FilterMatcherPredicate.
+     */
+    public static Predicate prepare(FilterMatcher filterMatcher, String filterValue) {
+		
+        if (filterMatcher instanceof PreparedFilterMatcher && isPrepared(filterMatcher.getClass())) {
+            return ((PreparedFilterMatcher) filterMatcher).prepare(filterValue);
+        }
+
+        return new FilterMatcherPredicate(filterMatcher, filterValue);
+    }
+
+    private static boolean isPrepared(Class<?> type) {
+		
+        Boolean result = PREPARED.get(type);
+        if (result == null) {
+            try {
+                Method evaluate = type.getMethod("evaluate", Object.class, String.class);
+                Method prepare = type.getMethod("prepare", String.class);
+                result = evaluate.getDeclaringClass().isAssignableFrom(prepare.getDeclaringClass());
+            } catch (NoSuchMethodException e) {
+                result = Boolean.FALSE;
+            }
+            result = PREPARED.putIfAbsent(type, result);
+        }
+
+        return result;
+    }
+}
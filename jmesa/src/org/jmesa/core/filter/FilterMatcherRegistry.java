@@ -15,23 +15,71 @@
  */
 package org.jmesa.core.filter;
 
+import static org.jmesa.util.AssertUtils.notNull;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang.ClassUtils;
 
 /**
+ * <p>
  * Register and then retrive FilterMatcher objects.
+ * </p>
+ *
+ * <p>
+ * The FilterMatcher objects are indexed by property and by class type, and the FilterMatcher that
+ * is found for a class type is remembered. Looking up a FilterMatcher is then a map lookup. The
+ * registry is thread safe so the same registry can be shared by all the requests.
+ * </p>
  *
  * @since 2.0
  * @author Jeff Johnston
  */
 public class FilterMatcherRegistry {
 		
-    private Map<MatcherKey, FilterMatcher> matchers = new HashMap<MatcherKey, FilterMatcher>();
+    private final Map<String, FilterMatcher> propertyMatchers = new ConcurrentHashMap<String, FilterMatcher>();
+    private final Map<Class<?>, FilterMatcher> typeMatchers = new ConcurrentHashMap<Class<?>, FilterMatcher>();
+    private final Map<Class<?>, FilterMatcher> resolvedMatchers = new ConcurrentHashMap<Class<?>, FilterMatcher>();
+
+    public FilterMatcherRegistry() {
+		
+        // default constructor
+    }
+
+    /**
+     * Create a registry that starts with the same FilterMatcher objects as the other registry.
+     * Useful to add FilterMatcher objects without changing a shared registry.
+     *
+     * @param registry The registry to copy.
+     * @since 4.1
+     */
+    public FilterMatcherRegistry(FilterMatcherRegistry registry) {
+		
+        propertyMatchers.putAll(registry.propertyMatchers);
+        typeMatchers.putAll(registry.typeMatchers);
+    }
 
+    /**
+     * @param key The MatcherKey, which needs a type unless it has a property.
+     * @param matcher The FilterMatcher to use for the key.
+     */
     public void addFilterMatcher(MatcherKey key, FilterMatcher matcher) {
 		
-        matchers.put(key, matcher);
+        notNull("The MatcherKey is required.", key);
+        notNull("The FilterMatcher is required for the MatcherKey [" + key + "].", matcher);
+
+        String property = key.getProperty();
+        if (property != null) {
+            propertyMatchers.put(property, matcher);
+        } else {
+            notNull("The MatcherKey [" + key + "] needs a type or a property.", key.getType());
+            typeMatchers.put(key.getType(), matcher);
+        }
+
+        resolvedMatchers.clear();
     }
 
     public FilterMatcher getFilterMatcher(MatcherKey key) {
@@ -48,12 +96,6 @@ public class FilterMatcherRegistry {
             return matcher;
         }
 
-        matcher = getFilterMatcherByObject(key.getType());
-
-        if (matcher != null) {
-            return matcher;
-        }
-
         throw new IllegalArgumentException("There is no FilterMatcher with the MatcherKey [" + key.toString() + "]");
     }
 
@@ -71,73 +113,89 @@ public class FilterMatcherRegistry {
             return null;
         }
 
-        for (MatcherKey key : matchers.keySet()) {
-            String prop = key.getProperty();
-            if (prop != null && prop.equals(property)) {
-                return matchers.get(key);
-            }
-        }
-
-        return null;
+        return propertyMatchers.get(property);
     }
 
     /**
-     * If there is a FilterMatcher that is registered by the specific class type
-     * then use that, otherwise return null. The intermediate search. To find a
-     * match here means that a FilterMatcher only has to match by the class type.
+     * Get the FilterMatcher for the class type, remembering the result.
      *
      * @param type The Class type for the current column item.
      * @return The FilterMatcher object that will do the comparison.
      */
     private FilterMatcher getFilterMatcherByType(Class<?> type) {
 		
-        for (MatcherKey key : matchers.keySet()) {
-            String prop = key.getProperty();
-            if (prop != null) { //do not use matcher that is using property match
-                continue;
-            }
+        if (type == null) {
+            return null;
+        }
+
+        FilterMatcher matcher = resolvedMatchers.get(type);
 
-            Class<?> typ = key.getType();
-            if (typ.equals(type)) {
-                return matchers.get(key);
+        if (matcher == null) {
+            matcher = resolveFilterMatcher(type);
+            if (matcher != null) {
+                resolvedMatchers.put(type, matcher);
             }
         }
 
-        return null;
+        return matcher;
     }
 
     /**
-     * If there is a FilterMatcher that is registered by the specific class
-     * instance then use that, otherwise return null. Is the most general search
-     * because will return the first match that is an instanceof the current
-     * column.
+     * <p>
+     * If there is a FilterMatcher that is registered by the specific class type then use that.
+     * Otherwise use the FilterMatcher of the closest super class, and then of the closest
+     * interface. A FilterMatcher registered for Object is only used if there is nothing more
+     * specific. A primitive type is looked up by its wrapper class.
+     * </p>
      *
      * @param type The Class type for the current column item.
      * @return The FilterMatcher object that will do the comparison.
      */
-    private FilterMatcher getFilterMatcherByObject(Class<?> type) {
+    private FilterMatcher resolveFilterMatcher(Class<?> type) {
 		
-        FilterMatcher result = null;
+        FilterMatcher matcher = typeMatchers.get(type);
 
-        for (MatcherKey key : matchers.keySet()) {
-            String prop = key.getProperty();
-            if (prop != null) { //do not use matcher that is using property match
-                continue;
+        if (matcher != null) {
+            return matcher;
+        }
+
+        if (type.isPrimitive()) {
+            type = ClassUtils.primitiveToWrapper(type);
+            matcher = typeMatchers.get(type);
+            if (matcher != null) {
+                return matcher;
             }
+        }
 
-            Class<?> typ = key.getType();
-            if (typ.isAssignableFrom(type)) {
-                FilterMatcher matcher = matchers.get(key);
-                if (key.getType().equals(Object.class)) {
-                    result = matcher; // If Object matches then make sure
-                                        // there is not something more specific
-                    continue;
-                }
+        for (Class<?> superclass = type.getSuperclass(); superclass != null && superclass != Object.class; superclass = superclass.getSuperclass()) {
+            matcher = typeMatchers.get(superclass);
+            if (matcher != null) {
+                return matcher;
+            }
+        }
+
+        List<Class<?>> interfaces = new ArrayList<Class<?>>();
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            addInterfaces(clazz, interfaces);
+        }
 
+        for (Class<?> iface : interfaces) {
+            matcher = typeMatchers.get(iface);
+            if (matcher != null) {
                 return matcher;
             }
         }
 
-        return result;
+        return typeMatchers.get(Object.class);
+    }
+
+    private void addInterfaces(Class<?> type, List<Class<?>> interfaces) {
+		
+        for (Class<?> iface : type.getInterfaces()) {
+            if (!interfaces.contains(iface)) {
+                interfaces.add(iface);
+                addInterfaces(iface, interfaces);
+            }
+        }
     }
 }
@@ -15,6 +15,12 @@
  */
 package org.jmesa.core.filter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.collections.Predicate;
@@ -25,8 +31,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Use the Jakarta Collections predicate pattern to filter out the table.
- * 
+ * <p>
+ * Use the Jakarta Collections predicate pattern to filter out the table. Each filter value is
+ * prepared once with its FilterMatcher, so the rows only need to evaluate the item values.
+ * </p>
+ *
+ * <p>
+ * The filters are evaluated in the FilterSet order, unless the filters are ordered by how
+ * selective and how costly they are on a sample of the rows. Then the filters that take out the
+ * most rows for the least time are evaluated first.
+ * </p>
+ *
  * @since 2.0
  * @author Jeff Johnston
  */
@@ -34,13 +49,109 @@ public final class FilterPredicate implements Predicate {
 		
     private Logger logger = LoggerFactory.getLogger(FilterPredicate.class);
 
-    private Map<Filter, FilterMatcher> filterMatchers;
-    private FilterSet filterSet;
+    private final Filter[] filters;
+    private final String[] properties;
+    private final Predicate[] predicates;
 
     public FilterPredicate(Map<Filter, FilterMatcher> filterMatchers, FilterSet filterSet) {
 		
-        this.filterMatchers = filterMatchers;
-        this.filterSet = filterSet;
+        int size = filterSet.getFilters().size();
+        this.filters = new Filter[size];
+        this.properties = new String[size];
+        this.predicates = new Predicate[size];
+
+        int i = 0;
+        for (Filter filter : filterSet.getFilters()) {
+            filters[i] = filter;
+            properties[i] = filter.getProperty();
+            predicates[i] = getPredicate(filterMatchers.get(filter), filter.getValue());
+            i++;
+        }
+    }
+
+    /**
+     * Evaluate every filter on a sample of the rows, spread evenly over the items, and then order
+     * the filters by how selective and how costly they were. This needs to be done before the
+     * predicate is used.
+     *
+     * @param items The items that will be filtered.
+     * @param sampleSize The most rows to sample.
+     * @return The statistics in the new order of the filters, or an empty List if the filters
+     *         could not be sampled.
+     */
+    public List<FilterStatistics> orderBySelectivity(Collection<?> items, int sampleSize) {
+		
+        final FilterStatistics[] statistics = new FilterStatistics[filters.length];
+        for (int i = 0; i < filters.length; i++) {
+            statistics[i] = new FilterStatistics(properties[i], filters[i].getValue());
+        }
+
+        try {
+            int step = Math.max(1, items.size() / Math.max(1, sampleSize));
+            int row = 0;
+            for (Object item : items) {
+                if (row++ % step == 0) {
+                    sample(item, statistics);
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Could not sample the filters so they are evaluated in the FilterSet order.", e);
+            return Collections.emptyList();
+        }
+
+        Integer[] order = new Integer[filters.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer i, Integer j) {
+		
+                return Double.compare(statistics[i].getRank(), statistics[j].getRank());
+            }
+        });
+
+        Filter[] orderedFilters = filters.clone();
+        String[] orderedProperties = properties.clone();
+        Predicate[] orderedPredicates = predicates.clone();
+
+        List<FilterStatistics> result = new ArrayList<FilterStatistics>();
+        for (int i = 0; i < order.length; i++) {
+            filters[i] = orderedFilters[order[i]];
+            properties[i] = orderedProperties[order[i]];
+            predicates[i] = orderedPredicates[order[i]];
+            result.add(statistics[order[i]]);
+        }
+
+        return result;
+    }
+
+    private void sample(Object item, FilterStatistics[] statistics) {
+		
+        for (int i = 0; i < properties.length; i++) {
+            long start = System.nanoTime();
+            Object value = ItemUtils.getItemValue(item, properties[i]);
+            boolean match = value != null && predicates[i].evaluate(value);
+            statistics[i].add(match, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return The prepared Predicate, or null if there is no FilterMatcher.
+     */
+    private Predicate getPredicate(FilterMatcher filterMatcher, String filterValue) {
+		
+        if (filterMatcher == null) {
+            return null;
+        }
+
+        try {
+            return FilterMatcherPredicate.prepare(filterMatcher, filterValue);
+        } catch (Exception e) {
+            logger.error("Had problems preparing the filter value " + filterValue + ".", e);
+            return new FilterMatcherPredicate(filterMatcher, filterValue);
+        }
     }
 
     /**
@@ -52,13 +163,11 @@ public final class FilterPredicate implements Predicate {
         boolean result = false;
 
         try {
-            for (Filter filter : filterSet.getFilters()) {
-                String property = filter.getProperty();
-                Object value = ItemUtils.getItemValue(item, property);
+            for (int i = 0; i < properties.length; i++) {
+                Object value = ItemUtils.getItemValue(item, properties[i]);
 
                 if (value != null) {
-                    FilterMatcher filterMatcher = filterMatchers.get(filter);
-                    result = filterMatcher.evaluate(value, filter.getValue());
+                    result = predicates[i].evaluate(value);
                 } else {
                     result = false;
                 }
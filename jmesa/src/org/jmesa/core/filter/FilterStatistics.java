@@ -0,0 +1,117 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.filter;
+
+/**
+ * How selective and how costly one filter was on a sample of the rows.
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class FilterStatistics {
+		
+    private final String property;
+    private final String filterValue;
+    private int evaluated;
+    private int matched;
+    private long nanos;
+
+    public FilterStatistics(String property, String filterValue) {
+		
+        this.property = property;
+        this.filterValue = filterValue;
+    }
+
+    public String getProperty() {
+		
+        return property;
+    }
+
+    public String getFilterValue() {
+		
+        return filterValue;
+    }
+
+    /**
+     * @return The number of sampled rows.
+     */
+    public int getEvaluated() {
+		
+        return evaluated;
+    }
+
+    /**
+     * @return The number of sampled rows that matched the filter.
+     */
+    public int getMatched() {
+		
+        return matched;
+    }
+
+    /**
+     * @return The fraction of the sampled rows that matched the filter.
+     */
+    public double getSelectivity() {
+		
+        if (evaluated == 0) {
+            return 1.0;
+        }
+
+        return (double) matched / evaluated;
+    }
+
+    /**
+     * @return The average time in nanoseconds to read the value and match it for one row.
+     */
+    public double getAverageNanos() {
+		
+        if (evaluated == 0) {
+            return 0;
+        }
+
+        return (double) nanos / evaluated;
+    }
+
+    /**
+     * The expected cost for each row that the filter takes out. The filters with the lowest rank
+     * are evaluated first.
+     */
+    double getRank() {
+		
+        double selectivity = getSelectivity();
+        if (selectivity >= 1.0) {
+            return Double.MAX_VALUE;
+        }
+
+        return getAverageNanos() / (1.0 - selectivity);
+    }
+
+    void add(boolean match, long elapsed) {
+		
+        evaluated++;
+        if (match) {
+            matched++;
+        }
+        nanos += elapsed;
+    }
+
+    @Override
+    public String toString() {
+		
+        return property + "=" + filterValue + " (matched " + matched + " of " + evaluated + ", "
+            + Math.round(getAverageNanos()) + " ns per row)";
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.filter;
+
+import java.util.List;
+
+import org.jmesa.limit.Limit;
+
+/**
+ * Is given the filter statistics that the row filter collected, such as to keep track of which
+ * columns are filtered on the most and how selective the filters are.
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public interface FilterStatisticsHandler {
+		
+    /**
+     * @param limit The Limit that was filtered.
+     * @param statistics The statistics in the order that the filters are evaluated.
+     */
+    public void handleStatistics(Limit limit, List<FilterStatistics> statistics);
+}
@@ -16,9 +16,11 @@
 package org.jmesa.core.filter;
 
 import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.Locale;
+
+import org.apache.commons.collections.Predicate;
 import org.apache.commons.lang.StringUtils;
+import org.jmesa.util.FormatUtils;
 import org.jmesa.web.WebContext;
 
 /**
@@ -27,7 +29,7 @@ import org.jmesa.web.WebContext;
  * @since 2.2
  * @author Jeff Johnston
  */
-public class NumberFilterMatcher extends AbstractPatternFilterMatcher {
+public class NumberFilterMatcher extends AbstractPatternFilterMatcher implements PreparedFilterMatcher {
 		
     public NumberFilterMatcher() {
 		
@@ -55,26 +57,9 @@ public class NumberFilterMatcher extends AbstractPatternFilterMatcher {
             return false;
         }
 
-        Locale locale = null;
-
-        WebContext webContext = getWebContext();
-        if (webContext != null) {
-            locale = webContext.getLocale();
-        }
-
-        NumberFormat nf;
-        if (locale != null) {
-            nf = NumberFormat.getInstance(locale);
-        } else {
-            nf = NumberFormat.getInstance();
-        }
-
-        DecimalFormat df = (DecimalFormat) nf;
-        String pattern = getPattern();
-        df.applyPattern(pattern);
-        itemValue = df.format(itemValue);
+        DecimalFormat df = FormatUtils.getDecimalFormat(getPattern(), getLocale());
 
-        String item = String.valueOf(itemValue);
+        String item = df.format(itemValue);
         String filter = String.valueOf(filterValue);
         if (StringUtils.contains(item, filter)) {
             return true;
@@ -82,4 +67,35 @@ public class NumberFilterMatcher extends AbstractPatternFilterMatcher {
 
         return false;
     }
+
+    /**
+     * The number format is shared by the requests, with a copy of it for each thread because a
+     * DecimalFormat is not thread safe.
+     */
+    @Override
+    public Predicate prepare(String filterValue) {
+		
+        final String pattern = getPattern();
+        final Locale locale = getLocale();
+        final String filter = String.valueOf(filterValue);
+
+        return new Predicate() {
+            @Override
+            public boolean evaluate(Object itemValue) {
+		
+                String item = FormatUtils.getDecimalFormat(pattern, locale).format(itemValue);
+                return StringUtils.contains(item, filter);
+            }
+        };
+    }
+
+    private Locale getLocale() {
+		
+        WebContext webContext = getWebContext();
+        if (webContext != null) {
+            return webContext.getLocale();
+        }
+
+        return null;
+    }
 }
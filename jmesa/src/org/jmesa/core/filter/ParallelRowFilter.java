@@ -0,0 +1,145 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.apache.commons.collections.Predicate;
+import org.jmesa.core.preference.Preferences;
+import org.jmesa.core.preference.PreferencesSupport;
+import org.jmesa.limit.Filter;
+import org.jmesa.limit.FilterSet;
+import org.jmesa.limit.Limit;
+import org.jmesa.util.ParallelUtils;
+import org.jmesa.util.PreferencesUtils;
+
+/**
+ * <p>
+ * A SimpleRowFilter that evaluates the rows on all the processors once the number of rows reaches
+ * the threshold. Each range of rows is filtered on its own and the results are put back together
+ * in range order, so the filtered items are in exactly the same order as the SimpleRowFilter.
+ * </p>
+ *
+ * <p>
+ * To use it set the rowFilter preference to org.jmesa.core.filter.ParallelRowFilter. The threshold
+ * is the rowFilter.parallelThreshold preference, or can be set directly. The FilterMatcher objects
+ * are shared by the threads so they need to be thread safe, which the built in matchers are.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ParallelRowFilter extends SimpleRowFilter implements PreferencesSupport {
+		
+    private static final String PARALLEL_THRESHOLD = "rowFilter.parallelThreshold";
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
+
+    private Preferences preferences;
+    private int parallelThreshold;
+
+    public ParallelRowFilter() {
+		
+        // default constructor
+    }
+
+    /**
+     * @param parallelThreshold The number of rows at which the filter is done in parallel.
+     */
+    public ParallelRowFilter(int parallelThreshold) {
+		
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public Collection<?> filterItems(Collection<?> items, Limit limit) {
+		
+        FilterSet filterSet = limit.getFilterSet();
+
+        if (!filterSet.isFiltered() || !ParallelUtils.isParallel(items.size(), getParallelThreshold())) {
+            return super.filterItems(items, limit);
+        }
+
+        Map<Filter, FilterMatcher> filterMatchers = getFilterMatchers(items, filterSet);
+        final Predicate filterPredicate = getPredicate(filterMatchers, filterSet);
+        orderPredicate(filterPredicate, items, limit);
+        final Object[] rows = items.toArray();
+
+        int[] bounds = ParallelUtils.getChunkBounds(rows.length, ParallelUtils.getParallelism());
+
+        List<Callable<List<Object>>> tasks = new ArrayList<Callable<List<Object>>>();
+        for (int i = 0; i < bounds.length - 1; i++) {
+            final int from = bounds[i];
+            final int to = bounds[i + 1];
+            tasks.add(new Callable<List<Object>>() {
+                @Override
+                public List<Object> call() {
+		
+                    List<Object> result = new ArrayList<Object>();
+                    for (int r = from; r < to; r++) {
+                        if (filterPredicate.evaluate(rows[r])) {
+                            result.add(rows[r]);
+                        }
+                    }
+                    return result;
+                }
+            });
+        }
+
+        List<List<Object>> results = ParallelUtils.invokeAll(tasks);
+
+        int size = 0;
+        for (List<Object> result : results) {
+            size += result.size();
+        }
+
+        List<Object> collection = new ArrayList<Object>(size);
+        for (List<Object> result : results) {
+            collection.addAll(result);
+        }
+
+        return collection;
+    }
+
+    public int getParallelThreshold() {
+		
+        if (parallelThreshold == 0) {
+            parallelThreshold = PreferencesUtils.getIntPreference(preferences, PARALLEL_THRESHOLD, DEFAULT_PARALLEL_THRESHOLD);
+        }
+
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+		
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public Preferences getPreferences() {
+		
+        return preferences;
+    }
+
+    @Override
+    public void setPreferences(Preferences preferences) {
+		
+        this.preferences = preferences;
+    }
+}
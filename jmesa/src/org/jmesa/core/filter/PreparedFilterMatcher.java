@@ -0,0 +1,43 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.filter;
+
+import org.apache.commons.collections.Predicate;
+
+/**
+ * <p>
+ * A FilterMatcher that does the work on the filter value, such as parsing it or getting the
+ * formatter, once for all the rows. The Predicate that is prepared then only needs to evaluate
+ * each item value.
+ * </p>
+ *
+ * <p>
+ * The Predicate may be evaluated by more than one thread at the same time so it needs to be
+ * thread safe. Use the FilterMatcherPredicate to get the Predicate for any FilterMatcher.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public interface PreparedFilterMatcher extends FilterMatcher {
+		
+    /**
+     * @param filterValue The value to match with.
+     * @return The Predicate that is true for the item values that match the filter value. The
+     *         item value is never null.
+     */
+    public Predicate prepare(String filterValue);
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.filter;
+
+/**
+ * <p>
+ * A FilterMatcher that can tell when one filter value only matches a subset of what another filter
+ * value matches. Then the rows of the new filter value only have to be looked for in the rows that
+ * matched the previous filter value, such as when the user keeps typing a filter value.
+ * </p>
+ *
+ * <p>
+ * The isRefinement method is only used if it is declared in the same class as the evaluate
+ * method, or a subclass of it. A subclass that overrides evaluate needs to override isRefinement
+ * too for the refinement to be used.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public interface RefinableFilterMatcher extends FilterMatcher {
+		
+    /**
+     * @param filterValue The new filter value.
+     * @param previousFilterValue The previous filter value.
+     * @return Is true if every value that matches the filterValue also matches the previousFilterValue.
+     */
+    public boolean isRefinement(String filterValue, String previousFilterValue);
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.filter;
+
+import java.util.Collection;
+
+import org.jmesa.limit.FilterSet;
+
+/**
+ * A RowFilter that can tell when a FilterSet only matches a subset of the rows that a previous
+ * FilterSet matched. Then only the rows of the previous result need to be filtered again.
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public interface RefinableRowFilter extends RowFilter {
+		
+    /**
+     * @param items All the items.
+     * @param filterSet The new FilterSet.
+     * @param previousFilterSet The FilterSet of the previous result.
+     * @return Is true if every item that matches the filterSet also matches the previousFilterSet.
+     */
+    public boolean isRefinement(Collection<?> items, FilterSet filterSet, FilterSet previousFilterSet);
+}
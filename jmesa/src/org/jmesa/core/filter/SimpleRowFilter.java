@@ -15,28 +15,46 @@
  */
 package org.jmesa.core.filter;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.commons.collections.Predicate;
 import org.apache.commons.collections.CollectionUtils;
+import org.jmesa.core.PropertyTypesSupport;
 import org.jmesa.limit.Filter;
 import org.jmesa.limit.FilterSet;
 import org.jmesa.limit.Limit;
+import org.jmesa.util.ClassCache;
 import static org.jmesa.util.ItemUtils.getPropertyClassType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * <p>
+ * Filters the items with a FilterPredicate. When there is more than one filter and enough rows,
+ * the filters are first evaluated on a sample of the rows so that the most selective and least
+ * costly filters are evaluated first. The statistics of the sample are given to the
+ * FilterStatisticsHandler if there is one.
+ * </p>
+ *
  * @since 2.0
  * @author Jeff Johnston
  */
-public class SimpleRowFilter implements RowFilter, FilterMatcherRegistrySupport {
+public class SimpleRowFilter implements RefinableRowFilter, FilterMatcherRegistrySupport, PropertyTypesSupport {
 		
     private Logger logger = LoggerFactory.getLogger(SimpleRowFilter.class);
 
+    private static final int SAMPLE_SIZE = 100;
+    private static final int SAMPLE_THRESHOLD = 1000;
+
+    private static final ClassCache<Boolean> REFINABLE = new ClassCache<Boolean>();
+
     private FilterMatcherRegistry registry;
+    private FilterStatisticsHandler filterStatisticsHandler;
+    private Map<String, Class<?>> propertyTypes;
 
     @Override
     public Collection<?> filterItems(Collection<?> items, Limit limit) {
@@ -48,6 +66,7 @@ public class SimpleRowFilter implements RowFilter, FilterMatcherRegistrySupport
             Collection<?> collection = new ArrayList<Object>();
             Map<Filter, FilterMatcher> filterMatchers = getFilterMatchers(items, filterSet);
             Predicate filterPredicate = getPredicate(filterMatchers, filterSet);
+            orderPredicate(filterPredicate, items, limit);
             CollectionUtils.select(items, filterPredicate, collection);
 
             return collection;
@@ -56,6 +75,70 @@ public class SimpleRowFilter implements RowFilter, FilterMatcherRegistrySupport
         return items;
     }
 
+    /**
+     * The filterSet is a refinement if it has a filter for every previous filter property, and
+     * each filter value is either the same as before or its FilterMatcher says it is a refinement.
+     * Any filters that are added only take more rows away.
+     *
+     * A RefinableFilterMatcher is only asked if its isRefinement method is declared in the same
+     * class as its evaluate method, or a subclass of it. That way a subclass of one of the built
+     * in matchers that only overrides the evaluate method always filters all the items.
+     */
+    @Override
+    public boolean isRefinement(Collection<?> items, FilterSet filterSet, FilterSet previousFilterSet) {
+		
+        if (!filterSet.isFiltered() || !previousFilterSet.isFiltered()) {
+            return false;
+        }
+
+        Map<Filter, FilterMatcher> filterMatchers = null;
+
+        for (Filter previousFilter : previousFilterSet.getFilters()) {
+            Filter filter = filterSet.getFilter(previousFilter.getProperty());
+            if (filter == null) {
+                return false;
+            }
+
+            String value = filter.getValue();
+            String previousValue = previousFilter.getValue();
+            if (value == null ? previousValue == null : value.equals(previousValue)) {
+                continue;
+            }
+
+            if (filterMatchers == null) {
+                filterMatchers = getFilterMatchers(items, filterSet);
+            }
+
+            FilterMatcher filterMatcher = filterMatchers.get(filter);
+            if (!(filterMatcher instanceof RefinableFilterMatcher) || !isRefinable(filterMatcher.getClass())) {
+                return false;
+            }
+
+            if (!((RefinableFilterMatcher) filterMatcher).isRefinement(value, previousValue)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isRefinable(Class<?> type) {
+		
+        Boolean result = REFINABLE.get(type);
+        if (result == null) {
+            try {
+                Method evaluate = type.getMethod("evaluate", Object.class, String.class);
+                Method isRefinement = type.getMethod("isRefinement", String.class, String.class);
+                result = evaluate.getDeclaringClass().isAssignableFrom(isRefinement.getDeclaringClass());
+            } catch (NoSuchMethodException e) {
+                result = Boolean.FALSE;
+            }
+            result = REFINABLE.putIfAbsent(type, result);
+        }
+
+        return result;
+    }
+
     protected Map<Filter, FilterMatcher> getFilterMatchers(Collection<?> items, FilterSet filterSet) {
 		
         Map<Filter, FilterMatcher> filterMatchers = new HashMap<Filter, FilterMatcher>();
@@ -67,7 +150,7 @@ public class SimpleRowFilter implements RowFilter, FilterMatcherRegistrySupport
         try {
             for (Filter filter : filterSet.getFilters()) {
                 String property = filter.getProperty();
-                Class<?> type = getPropertyClassType(items, property);
+                Class<?> type = getPropertyType(items, property);
                 MatcherKey key = new MatcherKey(type, property);
                 FilterMatcher filterMatcher = registry.getFilterMatcher(key);
                 filterMatchers.put(filter, filterMatcher);
@@ -79,11 +162,76 @@ public class SimpleRowFilter implements RowFilter, FilterMatcherRegistrySupport
         return filterMatchers;
     }
 
+    /**
+     * @return The declared type of the property, or else the type found from the items.
+     */
+    protected Class<?> getPropertyType(Collection<?> items, String property)
+        throws Exception {
+		
+        if (propertyTypes != null) {
+            Class<?> type = propertyTypes.get(property);
+            if (type != null) {
+                return type;
+            }
+        }
+
+        return getPropertyClassType(items, property);
+    }
+
     protected Predicate getPredicate(Map<Filter, FilterMatcher> filterMatchers, FilterSet filterSet) {
 		
         return new FilterPredicate(filterMatchers, filterSet);
     }
 
+    /**
+     * Order the filters of the predicate by a sample of the rows. The sample is only taken when
+     * there is more than one filter and enough rows for it to pay off, or when there is a
+     * FilterStatisticsHandler to give the statistics to.
+     */
+    protected void orderPredicate(Predicate predicate, Collection<?> items, Limit limit) {
+		
+        if (!(predicate instanceof FilterPredicate)) {
+            return;
+        }
+
+        boolean worthSampling = limit.getFilterSet().getFilters().size() > 1 && items.size() >= SAMPLE_THRESHOLD;
+        if (!worthSampling && filterStatisticsHandler == null) {
+            return;
+        }
+
+        List<FilterStatistics> statistics = ((FilterPredicate) predicate).orderBySelectivity(items, SAMPLE_SIZE);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("The filters are evaluated in the order " + statistics);
+        }
+
+        if (filterStatisticsHandler != null && !statistics.isEmpty()) {
+            filterStatisticsHandler.handleStatistics(limit, statistics);
+        }
+    }
+
+    public FilterStatisticsHandler getFilterStatisticsHandler() {
+		
+        return filterStatisticsHandler;
+    }
+
+    public void setFilterStatisticsHandler(FilterStatisticsHandler filterStatisticsHandler) {
+		
+        this.filterStatisticsHandler = filterStatisticsHandler;
+    }
+
+    @Override
+    public Map<String, Class<?>> getPropertyTypes() {
+		
+        return propertyTypes;
+    }
+
+    @Override
+    public void setPropertyTypes(Map<String, Class<?>> propertyTypes) {
+		
+        this.propertyTypes = propertyTypes;
+    }
+
     @Override
     public FilterMatcherRegistry getFilterMatcherRegistry() {
 		
@@ -15,6 +15,7 @@
  */
 package org.jmesa.core.filter;
 
+import org.apache.commons.collections.Predicate;
 import org.apache.commons.lang.StringUtils;
 
 /**
@@ -23,7 +24,7 @@ import org.apache.commons.lang.StringUtils;
  * @since 2.0
  * @author Jeff Johnston
  */
-public class StringFilterMatcher implements FilterMatcher {
+public class StringFilterMatcher implements RefinableFilterMatcher, PreparedFilterMatcher {
 		
     @Override
     public boolean evaluate(Object itemValue, String filterValue) {
@@ -36,4 +37,34 @@ public class StringFilterMatcher implements FilterMatcher {
 
         return false;
     }
+
+    /**
+     * The filter value is put in lower case once.
+     */
+    @Override
+    public Predicate prepare(String filterValue) {
+		
+        final String filter = StringUtils.lowerCase(String.valueOf(filterValue));
+
+        return new Predicate() {
+            @Override
+            public boolean evaluate(Object itemValue) {
+		
+                String item = StringUtils.lowerCase(String.valueOf(itemValue));
+                return StringUtils.contains(item, filter);
+            }
+        };
+    }
+
+    /**
+     * A value that contains the previous value can only match the items that the previous value
+     * matched.
+     */
+    @Override
+    public boolean isRefinement(String filterValue, String previousFilterValue) {
+		
+        String filter = StringUtils.lowerCase(String.valueOf(filterValue));
+        String previousFilter = StringUtils.lowerCase(String.valueOf(previousFilterValue));
+        return StringUtils.contains(filter, previousFilter);
+    }
 }
@@ -15,23 +15,51 @@
  */
 package org.jmesa.core.filter;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.apache.commons.collections.Predicate;
+import org.apache.commons.collections.PredicateUtils;
+
 /**
+ * <p>
  * Will do a string match based on wildcards.
+ * </p>
+ *
+ * <p>
+ * The filter value is only compiled once. The last filter value is kept on the matcher and the
+ * compiled filters are also kept in a bounded cache that is shared by all the matchers. A filter
+ * value that is a plain prefix, or a plain contains (such as *abc), is matched without a regular
+ * expression.
+ * </p>
  * 
  * @since 2.3.3
  * @author Oscar Perez
  */
-public class StringWildCardFilterMatcher implements FilterMatcher {
+public class StringWildCardFilterMatcher implements RefinableFilterMatcher, PreparedFilterMatcher {
 		
     private static final String ASTERISK = "*";
     private static final String QUESTION_MARK = "?";
     private static final String ANYCHARREGEXP = ".";
     private static final String ANYSTRINGREGEXP = ".*?";
+    private static final int MAX_CACHED_FILTERS = 256;
+
+    private static final Map<String, CompiledFilter> COMPILED_FILTERS = Collections.synchronizedMap(
+        new LinkedHashMap<String, CompiledFilter>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledFilter> eldest) {
+
+                return size() > MAX_CACHED_FILTERS;
+            }
+        });
+
     protected boolean ignoreCases;
 
+    private volatile CompiledFilter lastFilter;
+
     /**
      * Ignores cases by default
      */
@@ -46,18 +74,92 @@ public class StringWildCardFilterMatcher implements FilterMatcher {
         if (filterValue == null) {
             return false;
         }
+
+        CompiledFilter compiledFilter = getCompiledFilter(filterValue);
+
+        return compiledFilter.matches(String.valueOf(itemValue));
+    }
+
+    /**
+     * The filter value is compiled once.
+     */
+    @Override
+    public Predicate prepare(String filterValue) {
 		
-        if (ignoreCases) {
-            filterValue = filterValue.toLowerCase();
+        if (filterValue == null) {
+            return PredicateUtils.falsePredicate();
         }
 
-        Pattern filterPattern = createFilterPattern(filterValue);
-        
-        if (filterPattern == null) {
+        final CompiledFilter compiledFilter = getCompiledFilter(filterValue);
+
+        return new Predicate() {
+            @Override
+            public boolean evaluate(Object itemValue) {
+		
+                return compiledFilter.matches(String.valueOf(itemValue));
+            }
+        };
+    }
+
+    /**
+     * The filter always matches from the start of the value and anything can follow it, so
+     * adding characters to the end of the previous filter value only matches fewer values.
+     */
+    @Override
+    public boolean isRefinement(String filterValue, String previousFilterValue) {
+		
+        if (filterValue == null || previousFilterValue == null || !filterValue.startsWith(previousFilterValue)) {
             return false;
         }
 
-        return filterPattern.matcher(String.valueOf(itemValue)).matches();
+        // the . in the regular expression does not match a line terminator
+        return !CompiledFilter.hasLineTerminator(filterValue, previousFilterValue.length());
+    }
+
+    /**
+     * Get the compiled filter, first from the last filter used by this matcher and then from the
+     * shared cache.
+     */
+    private CompiledFilter getCompiledFilter(String filterValue) {
+		
+        CompiledFilter compiledFilter = lastFilter;
+        if (compiledFilter != null && compiledFilter.isFor(filterValue, ignoreCases)) {
+            return compiledFilter;
+        }
+
+        String key = (ignoreCases ? "i:" : "c:") + filterValue;
+        compiledFilter = COMPILED_FILTERS.get(key);
+        if (compiledFilter == null) {
+            compiledFilter = compileFilter(filterValue);
+            COMPILED_FILTERS.put(key, compiledFilter);
+        }
+
+        this.lastFilter = compiledFilter;
+        return compiledFilter;
+    }
+
+    private CompiledFilter compileFilter(String filterValue) {
+		
+        String filter = ignoreCases ? filterValue.toLowerCase() : filterValue;
+
+        if (!filter.contains(QUESTION_MARK)) {
+            int start = 0;
+            while (start < filter.length() && filter.charAt(start) == '*') {
+                start++;
+            }
+
+            int end = filter.length();
+            while (end > start && filter.charAt(end - 1) == '*') {
+                end--;
+            }
+
+            String literal = filter.substring(start, end);
+            if (!literal.contains(ASTERISK) && !CompiledFilter.hasLineTerminator(literal, 0)) {
+                return new CompiledFilter(filterValue, ignoreCases, literal, start > 0, null);
+            }
+        }
+
+        return new CompiledFilter(filterValue, ignoreCases, null, false, createFilterPattern(filter));
     }
 
     /**
@@ -154,4 +256,106 @@ public class StringWildCardFilterMatcher implements FilterMatcher {
         
         return sb.toString();
     }
+
+    /**
+     * <p>
+     * A filter value that is ready to match. It is either a literal that is matched as a prefix
+     * or as a contains, or else a compiled regular expression.
+     * </p>
+     *
+     * <p>
+     * The literal matching gives the same results as the regular expression would. The case is
+     * only ignored for the ASCII characters, and the rest of the value after (and for a contains
+     * also before) the literal cannot have a line terminator because the . does not match one.
+     * </p>
+     */
+    private static class CompiledFilter {
+		
+        private final String filterValue;
+        private final boolean ignoreCases;
+        private final String literal;
+        private final boolean contains;
+        private final Pattern pattern;
+
+        CompiledFilter(String filterValue, boolean ignoreCases, String literal, boolean contains, Pattern pattern) {
+		
+            this.filterValue = filterValue;
+            this.ignoreCases = ignoreCases;
+            this.literal = literal;
+            this.contains = contains;
+            this.pattern = pattern;
+        }
+
+        boolean isFor(String value, boolean ignore) {
+		
+            return ignoreCases == ignore && filterValue.equals(value);
+        }
+
+        boolean matches(String item) {
+		
+            if (literal == null) {
+                return pattern != null && pattern.matcher(item).matches();
+            }
+
+            if (!contains) {
+                return regionMatches(item, 0) && !hasLineTerminator(item, literal.length());
+            }
+
+            if (hasLineTerminator(item, 0)) {
+                return false;
+            }
+
+            int last = item.length() - literal.length();
+            for (int i = 0; i <= last; i++) {
+                if (regionMatches(item, i)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private boolean regionMatches(String item, int offset) {
+		
+            int length = literal.length();
+            if (offset + length > item.length()) {
+                return false;
+            }
+
+            for (int i = 0; i < length; i++) {
+                char c1 = item.charAt(offset + i);
+                char c2 = literal.charAt(i);
+                if (c1 == c2) {
+                    continue;
+                }
+
+                if (!ignoreCases || toLowerCaseAscii(c1) != toLowerCaseAscii(c2)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static char toLowerCaseAscii(char c) {
+		
+            if (c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+
+            return c;
+        }
+
+        private static boolean hasLineTerminator(String item, int from) {
+		
+            for (int i = from; i < item.length(); i++) {
+                char c = item.charAt(i);
+                if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
 }
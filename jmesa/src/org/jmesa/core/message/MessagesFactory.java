@@ -16,9 +16,17 @@
 package org.jmesa.core.message;
 
 import org.jmesa.web.WebContext;
+import org.jmesa.web.WebContextUtils;
+import org.jmesa.web.WebContextUtils.ApplicationAttributeFactory;
 
 /**
+ * <p>
  * A factory to create different Messages.
+ * </p>
+ *
+ * <p>
+ * The messages for each locale are only created once and then kept in the application scope.
+ * </p>
  * 
  * @since 2.3
  * @author Jeff Johnston
@@ -26,15 +34,25 @@ import org.jmesa.web.WebContext;
 public class MessagesFactory {
 		
     private static final String JMESA_MESSAGES_LOCATION = "jmesaMessagesLocation";
+    private static final String MESSAGES_ATTR = "jmesa.messages.";
 
     private MessagesFactory() {}
 
     /**
      * @return The default messages.
      */
-    public static Messages getMessages(WebContext webContext) {
+    public static Messages getMessages(final WebContext webContext) {
+		
+        final String jmesaMessagesLocation = (String) webContext.getApplicationInitParameter(JMESA_MESSAGES_LOCATION);
+        String attribute = MESSAGES_ATTR + jmesaMessagesLocation + "." + webContext.getLocale();
+
+        return WebContextUtils.getApplicationAttribute(webContext, attribute, ResourceBundleMessages.class,
+            new ApplicationAttributeFactory<ResourceBundleMessages>() {
+                @Override
+                public ResourceBundleMessages create() {
 		
-        String jmesaMessagesLocation = (String) webContext.getApplicationInitParameter(JMESA_MESSAGES_LOCATION);
-        return new ResourceBundleMessages(jmesaMessagesLocation, webContext);
+                    return new ResourceBundleMessages(jmesaMessagesLocation, webContext);
+                }
+            });
     }
 }
@@ -16,9 +16,19 @@
 package org.jmesa.core.preference;
 
 import org.jmesa.web.WebContext;
+import org.jmesa.web.WebContextUtils;
+import org.jmesa.web.WebContextUtils.ApplicationAttributeFactory;
 
 /**
+ * <p>
  * A factory to create different Preferences.
+ * </p>
+ *
+ * <p>
+ * The preferences are only read once and then kept in the application scope. If the
+ * jmesaPreferencesReload init parameter is true the preferences are read again when the
+ * preferences file changes.
+ * </p>
  * 
  * @since 2.3
  * @author Jeff Johnston
@@ -26,10 +36,34 @@ import org.jmesa.web.WebContext;
 public class PreferencesFactory {
 		
     private static final String JMESA_PREFERENCES_LOCATION = "jmesaPreferencesLocation";
+    private static final String JMESA_PREFERENCES_RELOAD = "jmesaPreferencesReload";
+    private static final String PREFERENCES_ATTR = "jmesa.preferences.";
+
+    public static Preferences getPreferences(final WebContext webContext) {
+		
+        final String jmesaPreferencesLocation = (String) webContext.getApplicationInitParameter(JMESA_PREFERENCES_LOCATION);
+        String attribute = PREFERENCES_ATTR + jmesaPreferencesLocation;
+        final boolean reload = isReload(webContext);
+
+        return WebContextUtils.getApplicationAttribute(webContext, attribute, PropertiesPreferences.class,
+            new ApplicationAttributeFactory<PropertiesPreferences>() {
+                @Override
+                public PropertiesPreferences create() {
+		
+                    return new PropertiesPreferences(jmesaPreferencesLocation, webContext);
+                }
+
+                @Override
+                public boolean isCurrent(PropertiesPreferences preferences) {
+		
+                    return !reload || !preferences.isModified();
+                }
+            });
+    }
 
-    public static Preferences getPreferences(WebContext webContext) {
+    private static boolean isReload(WebContext webContext) {
 		
-        String jmesaPreferencesLocation = (String) webContext.getApplicationInitParameter(JMESA_PREFERENCES_LOCATION);
-        return new PropertiesPreferences(jmesaPreferencesLocation, webContext);
+        Object reload = webContext.getApplicationInitParameter(JMESA_PREFERENCES_RELOAD);
+        return reload != null && Boolean.valueOf(reload.toString());
     }
 }
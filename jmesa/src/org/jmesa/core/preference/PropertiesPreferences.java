@@ -19,6 +19,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.Properties;
 
 import org.apache.commons.lang.StringUtils;
@@ -38,6 +40,8 @@ public final class PropertiesPreferences implements Preferences {
     private static final String JMESA_PROPERTIES = "jmesa.properties";
 
     private Properties properties = new Properties();
+    private File preferencesFile;
+    private long lastModified;
 
     public PropertiesPreferences(String preferencesLocation, WebContext webContext) {
 		
@@ -53,6 +57,10 @@ public final class PropertiesPreferences implements Preferences {
                 }
             }
             if (StringUtils.isNotBlank(preferencesLocation)) {
+                preferencesFile = getFile(preferencesLocation, webContext);
+                if (preferencesFile != null) {
+                    lastModified = preferencesFile.lastModified();
+                }
                 InputStream input = getInputStream(preferencesLocation, webContext);
                 if (input != null) {
                     try {
@@ -83,6 +91,39 @@ public final class PropertiesPreferences implements Preferences {
         return this.getClass().getResourceAsStream(preferencesLocation);
     }
 
+    /**
+     * @return The preferences file if the preferences are in the WEB-INF directory or in a
+     *         classpath directory, otherwise null.
+     */
+    private File getFile(String preferencesLocation, WebContext webContext) {
+		
+        if (preferencesLocation.startsWith("WEB-INF")) {
+            String path = webContext.getRealPath("/WEB-INF");
+            String name = StringUtils.substringAfter(preferencesLocation, "WEB-INF/");
+            return new File(path, name);
+        }
+
+        URL url = this.getClass().getResource(preferencesLocation);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Is true if the preferences file changed since the preferences were loaded.
+     * @since 4.1
+     */
+    public boolean isModified() {
+		
+        return preferencesFile != null && preferencesFile.lastModified() != lastModified;
+    }
+
     @Override
     public String getPreference(String name) {
 		
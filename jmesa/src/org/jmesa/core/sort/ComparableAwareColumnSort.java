@@ -18,10 +18,12 @@ package org.jmesa.core.sort;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.beanutils.BeanComparator;
 import org.apache.commons.collections.comparators.ComparableComparator;
 import org.apache.commons.collections.comparators.ComparatorChain;
 import org.apache.commons.collections.comparators.NullComparator;
+import org.jmesa.core.PropertyTypesSupport;
 import org.jmesa.limit.Limit;
 import org.jmesa.limit.Sort;
 import org.jmesa.limit.SortSet;
@@ -35,10 +37,12 @@ import static org.jmesa.util.ItemUtils.getPropertyClassType;
  * @since 2.3.5
  * @author David Sills
  */
-public class ComparableAwareColumnSort implements ColumnSort {
+public class ComparableAwareColumnSort implements ColumnSort, PropertyTypesSupport {
 		
     private Logger logger = LoggerFactory.getLogger(ComparableAwareColumnSort.class);
 
+    private Map<String, Class<?>> propertyTypes;
+
     @SuppressWarnings("unchecked")
     @Override
     public Collection<?> sortItems(Collection<?> items, Limit limit) {
@@ -51,10 +55,12 @@ public class ComparableAwareColumnSort implements ColumnSort {
         SortSet sortSet = limit.getSortSet();
 
         for (Sort sort : sortSet.getSorts()) {
-            Class<?> type = null;
+            Class<?> type = propertyTypes == null ? null : propertyTypes.get(sort.getProperty());
 
             try {
-                type = getPropertyClassType(items, sort.getProperty());
+                if (type == null) {
+                    type = getPropertyClassType(items, sort.getProperty());
+                }
             } catch (Exception e) {
                 logger.error("Had problems getting the column sort type.", e);
             }
@@ -78,4 +84,16 @@ public class ComparableAwareColumnSort implements ColumnSort {
 
         return items;
     }
+
+    @Override
+    public Map<String, Class<?>> getPropertyTypes() {
+		
+        return propertyTypes;
+    }
+
+    @Override
+    public void setPropertyTypes(Map<String, Class<?>> propertyTypes) {
+		
+        this.propertyTypes = propertyTypes;
+    }
 }
@@ -16,42 +16,75 @@
 package org.jmesa.core.sort;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.ListIterator;
 
-import org.apache.commons.beanutils.BeanComparator;
-import org.apache.commons.collections.comparators.ComparatorChain;
-import org.apache.commons.collections.comparators.NullComparator;
 import org.jmesa.limit.Limit;
-import org.jmesa.limit.Order;
 import org.jmesa.limit.Sort;
-import org.jmesa.limit.SortSet;
 
 /**
+ * <p>
+ * Sorts the items by each Sort in the SortSet. The sort values are read once per row into the
+ * SortKeys and then the row indexes are sorted, instead of reading the Bean properties every time
+ * two rows are compared. The items are sorted in place, and are left alone when there is no
+ * ascending or descending Sort.
+ * </p>
+ *
  * @since 2.0
  * @author Jeff Johnston
  */
 public class MultiColumnSort implements ColumnSort {
 		
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<?> sortItems(Collection<?> items, Limit limit) {
 		
-        ComparatorChain chain = new ComparatorChain();
-
-        SortSet sortSet = limit.getSortSet();
-        for (Sort sort : sortSet.getSorts()) {
-            if (sort.getOrder() == Order.ASC) {
-                chain.addComparator(new BeanComparator(sort.getProperty(), new NullComparator()));
-            } else if (sort.getOrder() == Order.DESC) {
-                chain.addComparator(new BeanComparator(sort.getProperty(), new NullComparator()), true);
-            }
+        if (!isSorted(items, limit)) {
+            return items;
         }
 
-        if (chain.size() > 0) {
-            Collections.sort((List<?>) items, chain);
-        }
+        SortKeys sortKeys = createSortKeys(items.toArray(), limit.getSortSet().getSorts());
+        int[] indexes = sortIndexes(sortKeys);
+        setItems((List<?>) items, sortKeys.getRows(), indexes);
 
         return items;
     }
+
+    /**
+     * @return Is true if there are items and at least one ascending or descending Sort.
+     */
+    protected boolean isSorted(Collection<?> items, Limit limit) {
+		
+        return !items.isEmpty() && !SortKeys.getActiveSorts(limit.getSortSet().getSorts()).isEmpty();
+    }
+
+    /**
+     * Read the sort values for the rows.
+     */
+    protected SortKeys createSortKeys(Object[] rows, Collection<Sort> sorts) {
+		
+        return new SortKeys(rows, sorts);
+    }
+
+    /**
+     * @return The row indexes in sorted order. The sort needs to be stable.
+     */
+    protected int[] sortIndexes(SortKeys sortKeys) {
+		
+        int[] indexes = sortKeys.getIndexes();
+        sortKeys.sort(indexes, 0, indexes.length);
+        return indexes;
+    }
+
+    /**
+     * Put the rows back in the items in the order of the sorted indexes.
+     */
+    @SuppressWarnings("unchecked")
+    protected void setItems(List<?> items, Object[] rows, int[] indexes) {
+		
+        ListIterator<Object> iterator = ((List<Object>) items).listIterator();
+        for (int index : indexes) {
+            iterator.next();
+            iterator.set(rows[index]);
+        }
+    }
 }
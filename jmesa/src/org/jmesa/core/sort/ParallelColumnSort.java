@@ -0,0 +1,201 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.sort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.jmesa.core.preference.Preferences;
+import org.jmesa.core.preference.PreferencesSupport;
+import org.jmesa.limit.Sort;
+import org.jmesa.util.ParallelUtils;
+import org.jmesa.util.PreferencesUtils;
+
+/**
+ * <p>
+ * A MultiColumnSort that reads the sort values and sorts the rows on all the processors once the
+ * number of rows reaches the threshold. Each range of rows is sorted with a stable sort and the
+ * ranges are then merged, keeping the left row first when two rows are equal. The result is in
+ * exactly the same order as the MultiColumnSort.
+ * </p>
+ *
+ * <p>
+ * To use it set the columnSort preference to org.jmesa.core.sort.ParallelColumnSort. The threshold
+ * is the columnSort.parallelThreshold preference, or can be set directly.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ParallelColumnSort extends MultiColumnSort implements PreferencesSupport {
+		
+    private static final String PARALLEL_THRESHOLD = "columnSort.parallelThreshold";
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 10000;
+
+    private Preferences preferences;
+    private int parallelThreshold;
+
+    public ParallelColumnSort() {
+		
+        // default constructor
+    }
+
+    /**
+     * @param parallelThreshold The number of rows at which the sort is done in parallel.
+     */
+    public ParallelColumnSort(int parallelThreshold) {
+		
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    protected SortKeys createSortKeys(final Object[] rows, Collection<Sort> sorts) {
+		
+        if (!isParallel(rows.length)) {
+            return super.createSortKeys(rows, sorts);
+        }
+
+        final List<Sort> activeSorts = SortKeys.getActiveSorts(sorts);
+        final Object[][] values = new Object[activeSorts.size()][rows.length];
+
+        int[] bounds = ParallelUtils.getChunkBounds(rows.length, ParallelUtils.getParallelism());
+
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int i = 0; i < bounds.length - 1; i++) {
+            final int from = bounds[i];
+            final int to = bounds[i + 1];
+            tasks.add(new Callable<Object>() {
+                @Override
+                public Object call() {
+		
+                    for (int c = 0; c < values.length; c++) {
+                        SortKeys.readValues(rows, activeSorts.get(c).getProperty(), values[c], from, to);
+                    }
+                    return null;
+                }
+            });
+        }
+
+        ParallelUtils.invokeAll(tasks);
+
+        return new SortKeys(rows, activeSorts, values);
+    }
+
+    @Override
+    protected int[] sortIndexes(final SortKeys sortKeys) {
+		
+        final int[] indexes = sortKeys.getIndexes();
+
+        if (!isParallel(indexes.length)) {
+            return super.sortIndexes(sortKeys);
+        }
+
+        int[] bounds = ParallelUtils.getChunkBounds(indexes.length, ParallelUtils.getParallelism());
+
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int i = 0; i < bounds.length - 1; i++) {
+            final int from = bounds[i];
+            final int to = bounds[i + 1];
+            tasks.add(new Callable<Object>() {
+                @Override
+                public Object call() {
+		
+                    sortKeys.sort(indexes, from, to);
+                    return null;
+                }
+            });
+        }
+
+        ParallelUtils.invokeAll(tasks);
+
+        return merge(indexes, bounds, sortKeys);
+    }
+
+    /**
+     * Merge the sorted ranges two at a time until there is one range left.
+     */
+    private int[] merge(int[] indexes, int[] bounds, final SortKeys sortKeys) {
+		
+        int[] source = indexes;
+        int[] target = new int[indexes.length];
+
+        while (bounds.length > 2) {
+            final int[] src = source;
+            final int[] dest = target;
+
+            int ranges = bounds.length - 1;
+            int[] mergedBounds = new int[(ranges + 1) / 2 + 1];
+
+            List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+            for (int i = 0; i < ranges; i += 2) {
+                final int from = bounds[i];
+                final int middle = bounds[i + 1];
+                final int to = i + 2 < bounds.length ? bounds[i + 2] : middle;
+                mergedBounds[i / 2] = from;
+                mergedBounds[i / 2 + 1] = to;
+                tasks.add(new Callable<Object>() {
+                    @Override
+                    public Object call() {
+		
+                        sortKeys.merge(src, dest, from, middle, to);
+                        return null;
+                    }
+                });
+            }
+
+            ParallelUtils.invokeAll(tasks);
+
+            source = dest;
+            target = src;
+            bounds = mergedBounds;
+        }
+
+        return source;
+    }
+
+    private boolean isParallel(int rows) {
+		
+        return ParallelUtils.isParallel(rows, getParallelThreshold());
+    }
+
+    public int getParallelThreshold() {
+		
+        if (parallelThreshold == 0) {
+            parallelThreshold = PreferencesUtils.getIntPreference(preferences, PARALLEL_THRESHOLD, DEFAULT_PARALLEL_THRESHOLD);
+        }
+
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+		
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public Preferences getPreferences() {
+		
+        return preferences;
+    }
+
+    @Override
+    public void setPreferences(Preferences preferences) {
+		
+        this.preferences = preferences;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.sort;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.jmesa.core.preference.Preferences;
+import org.jmesa.core.preference.PreferencesSupport;
+import org.jmesa.limit.Limit;
+import org.jmesa.util.PreferencesUtils;
+
+/**
+ * <p>
+ * A MultiColumnSort that only sorts the rows up to the end of the requested page when that is a
+ * small part of all the rows. The first rows are picked with a bounded heap and then sorted, which
+ * is O(N log K) instead of O(N log N). They are in exactly the same order as the MultiColumnSort
+ * would put them. The rest of the rows follow in their original order, and the items are returned
+ * as PartiallySorted. Paging deep enough into the table falls back to the full sort.
+ * </p>
+ *
+ * <p>
+ * The sorted and filtered items of the CoreContext are then only in the sorted order up to the
+ * end of the page. An export has all the rows on one page so it is always fully sorted, but code
+ * that reads the sorted items beyond the page needs the MultiColumnSort instead.
+ * </p>
+ *
+ * <p>
+ * To use it set the columnSort preference to org.jmesa.core.sort.PartialColumnSort. The rows are
+ * only partially sorted if the end of the page times the columnSort.partialSortFactor preference
+ * is not more than the number of rows.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class PartialColumnSort extends MultiColumnSort implements PreferencesSupport {
+		
+    private static final String PARTIAL_SORT_FACTOR = "columnSort.partialSortFactor";
+    private static final int DEFAULT_PARTIAL_SORT_FACTOR = 8;
+
+    private Preferences preferences;
+    private int partialSortFactor;
+
+    public PartialColumnSort() {
+		
+        // default constructor
+    }
+
+    /**
+     * @param partialSortFactor How many times smaller the end of the page needs to be than the
+     *            number of rows to only sort the first rows.
+     */
+    public PartialColumnSort(int partialSortFactor) {
+		
+        this.partialSortFactor = partialSortFactor;
+    }
+
+    @Override
+    public Collection<?> sortItems(Collection<?> items, Limit limit) {
+		
+        if (!isSorted(items, limit)) {
+            return items;
+        }
+
+        int size = items.size();
+        if (!limit.hasRowSelect()) {
+            return super.sortItems(items, limit);
+        }
+
+        int rowEnd = Math.min(limit.getRowSelect().getRowEnd(), size);
+        if (rowEnd <= 0 || (long) rowEnd * getPartialSortFactor() > size) {
+            return super.sortItems(items, limit);
+        }
+
+        SortKeys sortKeys = createSortKeys(items.toArray(), limit.getSortSet().getSorts());
+        int[] indexes = selectIndexes(sortKeys, rowEnd);
+        setItems((List<?>) items, sortKeys.getRows(), indexes);
+
+        return new PartiallySortedList((List<?>) items, rowEnd);
+    }
+
+    /**
+     * @return The indexes of the first rows in sorted order, followed by the indexes of the rest
+     *         of the rows in their original order.
+     */
+    protected int[] selectIndexes(SortKeys sortKeys, int sortedRows) {
+		
+        // a max heap of the first rows so the last of them is the one to drop
+        int[] heap = new int[sortedRows];
+        int count = 0;
+
+        int size = sortKeys.getRows().length;
+        for (int i = 0; i < size; i++) {
+            if (count < sortedRows) {
+                heap[count] = i;
+                siftUp(sortKeys, heap, count++);
+            } else if (compare(sortKeys, i, heap[0]) < 0) {
+                heap[0] = i;
+                siftDown(sortKeys, heap, count);
+            }
+        }
+
+        // put the first rows back in their original order so the stable sort keeps equal rows in that order
+        Arrays.sort(heap, 0, count);
+        sortKeys.sort(heap, 0, count);
+
+        boolean[] selected = new boolean[size];
+        for (int i = 0; i < count; i++) {
+            selected[heap[i]] = true;
+        }
+
+        int[] indexes = new int[size];
+        System.arraycopy(heap, 0, indexes, 0, count);
+
+        int position = count;
+        for (int i = 0; i < size; i++) {
+            if (!selected[i]) {
+                indexes[position++] = i;
+            }
+        }
+
+        return indexes;
+    }
+
+    private static void siftUp(SortKeys sortKeys, int[] heap, int position) {
+		
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (compare(sortKeys, heap[position], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, position, parent);
+            position = parent;
+        }
+    }
+
+    private static void siftDown(SortKeys sortKeys, int[] heap, int count) {
+		
+        int position = 0;
+        while (true) {
+            int largest = 2 * position + 1;
+            if (largest >= count) {
+                return;
+            }
+            int right = largest + 1;
+            if (right < count && compare(sortKeys, heap[right], heap[largest]) > 0) {
+                largest = right;
+            }
+            if (compare(sortKeys, heap[largest], heap[position]) <= 0) {
+                return;
+            }
+            swap(heap, position, largest);
+            position = largest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+		
+        int row = heap[i];
+        heap[i] = heap[j];
+        heap[j] = row;
+    }
+
+    /**
+     * Breaks ties by the original row position, which gives the same order as a stable sort.
+     */
+    private static int compare(SortKeys sortKeys, int row1, int row2) {
+		
+        int result = sortKeys.compare(row1, row2);
+        if (result != 0) {
+            return result;
+        }
+
+        return row1 < row2 ? -1 : (row1 == row2 ? 0 : 1);
+    }
+
+    public int getPartialSortFactor() {
+		
+        if (partialSortFactor == 0) {
+            partialSortFactor = PreferencesUtils.getIntPreference(preferences, PARTIAL_SORT_FACTOR, DEFAULT_PARTIAL_SORT_FACTOR);
+        }
+
+        return partialSortFactor;
+    }
+
+    public void setPartialSortFactor(int partialSortFactor) {
+		
+        this.partialSortFactor = partialSortFactor;
+    }
+
+    @Override
+    public Preferences getPreferences() {
+		
+        return preferences;
+    }
+
+    @Override
+    public void setPreferences(Preferences preferences) {
+		
+        this.preferences = preferences;
+    }
+
+    /**
+     * The partially sorted items.
+     */
+    private static class PartiallySortedList extends AbstractList<Object> implements RandomAccess, PartiallySorted {
+		
+        private final List<?> items;
+        private final int sortedRows;
+
+        PartiallySortedList(List<?> items, int sortedRows) {
+		
+            this.items = items;
+            this.sortedRows = sortedRows;
+        }
+
+        @Override
+        public Object get(int index) {
+		
+            return items.get(index);
+        }
+
+        @Override
+        public int size() {
+		
+            return items.size();
+        }
+
+        @Override
+        public int getSortedRows() {
+		
+            return sortedRows;
+        }
+    }
+}
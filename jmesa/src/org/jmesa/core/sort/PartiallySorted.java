@@ -0,0 +1,31 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.sort;
+
+/**
+ * Sorted items where only the first rows are in the sorted order. The rest of the rows follow in
+ * no particular order.
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public interface PartiallySorted {
+		
+    /**
+     * @return The number of rows at the start of the items that are in the sorted order.
+     */
+    public int getSortedRows();
+}
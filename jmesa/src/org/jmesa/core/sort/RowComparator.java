@@ -0,0 +1,117 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.sort;
+
+/**
+ * <p>
+ * Compares rows by their indexes and sorts the row indexes in a primitive int array, so the rows
+ * are never read while sorting and no index is boxed. The sort is a stable merge sort.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public abstract class RowComparator {
+		
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+
+    /**
+     * Compare two rows by their indexes.
+     */
+    public abstract int compare(int row1, int row2);
+
+    /**
+     * Sort a range of the row indexes with a stable sort.
+     *
+     * @param indexes The row indexes.
+     * @param from The first index to sort, inclusive.
+     * @param to The last index to sort, exclusive.
+     */
+    public void sort(int[] indexes, int from, int to) {
+		
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+
+        int[] sorted = new int[length];
+        System.arraycopy(indexes, from, sorted, 0, length);
+        int[] buffer = new int[length];
+        System.arraycopy(sorted, 0, buffer, 0, length);
+
+        mergeSort(buffer, sorted, 0, length);
+
+        System.arraycopy(sorted, 0, indexes, from, length);
+    }
+
+    /**
+     * Sort the range into the dest array. The src and dest arrays hold the same indexes for the
+     * range when this is called.
+     */
+    private void mergeSort(int[] src, int[] dest, int from, int to) {
+		
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = dest[i];
+                int j = i;
+                while (j > from && compare(row, dest[j - 1]) < 0) {
+                    dest[j] = dest[j - 1];
+                    j--;
+                }
+                dest[j] = row;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        mergeSort(dest, src, from, middle);
+        mergeSort(dest, src, middle, to);
+
+        if (compare(src[middle], src[middle - 1]) >= 0) {
+            System.arraycopy(src, from, dest, from, to - from);
+            return;
+        }
+
+        merge(src, dest, from, middle, to);
+    }
+
+    /**
+     * Merge the two sorted ranges from and middle of the src array into the dest array, keeping
+     * the left row first when two rows are equal.
+     */
+    void merge(int[] src, int[] dest, int from, int middle, int to) {
+		
+        int left = from;
+        int right = middle;
+        int i = from;
+
+        while (left < middle && right < to) {
+            if (compare(src[right], src[left]) < 0) {
+                dest[i++] = src[right++];
+            } else {
+                dest[i++] = src[left++];
+            }
+        }
+
+        while (left < middle) {
+            dest[i++] = src[left++];
+        }
+
+        while (right < to) {
+            dest[i++] = src[right++];
+        }
+    }
+}
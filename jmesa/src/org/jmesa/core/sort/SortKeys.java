@@ -0,0 +1,316 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.sort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.jmesa.limit.Order;
+import org.jmesa.limit.Sort;
+import org.jmesa.util.ItemUtils;
+
+/**
+ * <p>
+ * The sort keys for a set of rows. Each sort column is read once per row and the values are held
+ * in a column of keys. Columns that hold only whole numbers, only decimal numbers, or only dates
+ * are held as primitive arrays. Every other column is compared as Comparable values.
+ * </p>
+ *
+ * <p>
+ * The rows are sorted by their indexes with the stable merge sort of the RowComparator.
+ * Null values are sorted last for an ascending sort and first for a descending sort, which is the
+ * same as a reversed commons Collections NullComparator.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class SortKeys extends RowComparator {
+		
+    private final Object[] rows;
+    private final ColumnKeys[] columns;
+
+    public SortKeys(Object[] rows, Collection<Sort> sorts) {
+		
+        this(rows, getActiveSorts(sorts), null);
+    }
+
+    /**
+     * @param rows The rows to sort.
+     * @param sorts The active sorts.
+     * @param values The sort values by sort and then by row, or null if the values should be read here.
+     */
+    SortKeys(Object[] rows, List<Sort> sorts, Object[][] values) {
+		
+        this.rows = rows;
+        this.columns = new ColumnKeys[sorts.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            Sort sort = sorts.get(i);
+
+            Object[] columnValues;
+            if (values != null) {
+                columnValues = values[i];
+            } else {
+                columnValues = new Object[rows.length];
+                readValues(rows, sort.getProperty(), columnValues, 0, rows.length);
+            }
+
+            columns[i] = createColumnKeys(columnValues, sort.getOrder() == Order.DESC);
+        }
+    }
+
+    /**
+     * @return The sorts that have an ascending or descending order.
+     */
+    static List<Sort> getActiveSorts(Collection<Sort> sorts) {
+		
+        List<Sort> result = new ArrayList<Sort>();
+        for (Sort sort : sorts) {
+            Order order = sort.getOrder();
+            if (order == Order.ASC || order == Order.DESC) {
+                result.add(sort);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the sort values for a range of rows.
+     */
+    static void readValues(Object[] rows, String property, Object[] values, int from, int to) {
+		
+        for (int i = from; i < to; i++) {
+            values[i] = ItemUtils.getItemValue(rows[i], property);
+        }
+    }
+
+    /**
+     * @return Is true if there is at least one column to sort by.
+     */
+    public boolean isSorted() {
+		
+        return columns.length > 0;
+    }
+
+    /**
+     * @return The rows that the keys were read from.
+     */
+    public Object[] getRows() {
+		
+        return rows;
+    }
+
+    /**
+     * @return The row indexes in their original order.
+     */
+    public int[] getIndexes() {
+		
+        int[] indexes = new int[rows.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+
+        return indexes;
+    }
+
+    @Override
+    public int compare(int row1, int row2) {
+		
+        for (ColumnKeys column : columns) {
+            int result = column.compare(row1, row2);
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return 0;
+    }
+
+    private static ColumnKeys createColumnKeys(Object[] values, boolean descending) {
+		
+        boolean wholeNumbers = true;
+        boolean decimalNumbers = true;
+        boolean dates = true;
+
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+
+            Class<?> type = value.getClass();
+            wholeNumbers = wholeNumbers && (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class);
+            decimalNumbers = decimalNumbers && (type == Double.class || type == Float.class);
+            dates = dates && (type == Date.class || type == java.sql.Date.class);
+        }
+
+        if (wholeNumbers) {
+            long[] keys = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    keys[i] = ((Number) values[i]).longValue();
+                }
+            }
+            return new LongKeys(getNulls(values), keys, descending);
+        }
+
+        if (decimalNumbers) {
+            double[] keys = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    keys[i] = ((Number) values[i]).doubleValue();
+                }
+            }
+            return new DoubleKeys(getNulls(values), keys, descending);
+        }
+
+        if (dates) {
+            long[] keys = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    keys[i] = ((Date) values[i]).getTime();
+                }
+            }
+            return new LongKeys(getNulls(values), keys, descending);
+        }
+
+        return new ComparableKeys(values, descending);
+    }
+
+    private static boolean[] getNulls(Object[] values) {
+		
+        boolean[] nulls = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            nulls[i] = values[i] == null;
+        }
+
+        return nulls;
+    }
+
+    /**
+     * One sort column of keys.
+     */
+    private abstract static class ColumnKeys {
+		
+        private final boolean descending;
+
+        ColumnKeys(boolean descending) {
+		
+            this.descending = descending;
+        }
+
+        int compare(int i, int j) {
+		
+            boolean null1 = isNull(i);
+            boolean null2 = isNull(j);
+
+            if (null1 || null2) {
+                int result = null1 == null2 ? 0 : (null1 ? 1 : -1);
+                return descending ? -result : result;
+            }
+
+            // swap the rows instead of negating, which would not reverse Integer.MIN_VALUE
+            if (descending) {
+                return compareValues(j, i);
+            }
+
+            return compareValues(i, j);
+        }
+
+        abstract boolean isNull(int i);
+
+        abstract int compareValues(int i, int j);
+    }
+
+    private static class LongKeys extends ColumnKeys {
+		
+        private final boolean[] nulls;
+        private final long[] keys;
+
+        LongKeys(boolean[] nulls, long[] keys, boolean descending) {
+		
+            super(descending);
+            this.nulls = nulls;
+            this.keys = keys;
+        }
+
+        @Override
+        boolean isNull(int i) {
+		
+            return nulls[i];
+        }
+
+        @Override
+        int compareValues(int i, int j) {
+		
+            long key1 = keys[i];
+            long key2 = keys[j];
+            return key1 < key2 ? -1 : (key1 == key2 ? 0 : 1);
+        }
+    }
+
+    private static class DoubleKeys extends ColumnKeys {
+		
+        private final boolean[] nulls;
+        private final double[] keys;
+
+        DoubleKeys(boolean[] nulls, double[] keys, boolean descending) {
+		
+            super(descending);
+            this.nulls = nulls;
+            this.keys = keys;
+        }
+
+        @Override
+        boolean isNull(int i) {
+		
+            return nulls[i];
+        }
+
+        @Override
+        int compareValues(int i, int j) {
+		
+            return Double.compare(keys[i], keys[j]);
+        }
+    }
+
+    private static class ComparableKeys extends ColumnKeys {
+		
+        private final Object[] values;
+
+        ComparableKeys(Object[] values, boolean descending) {
+		
+            super(descending);
+            this.values = values;
+        }
+
+        @Override
+        boolean isNull(int i) {
+		
+            return values[i] == null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        int compareValues(int i, int j) {
+		
+            return ((Comparable<Object>) values[i]).compareTo(values[j]);
+        }
+    }
+}
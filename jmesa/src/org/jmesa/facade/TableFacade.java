@@ -28,6 +28,8 @@ import static org.jmesa.facade.TableFacadeExceptions.validateViewIsNull;
 import static org.jmesa.facade.TableFacadeUtils.filterWorksheetItems;
 import static org.jmesa.facade.TableFacadeUtils.isClearingWorksheet;
 import static org.jmesa.limit.LimitConstants.LIMIT_ROWSELECT_MAXROWS;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -56,6 +58,7 @@ import org.jmesa.util.PreferencesUtils;
 import org.jmesa.util.SupportUtils;
 import org.jmesa.view.View;
 import org.jmesa.view.ViewExporter;
+import org.jmesa.view.component.Column;
 import org.jmesa.view.component.Table;
 import org.jmesa.view.csv.CsvView;
 import org.jmesa.view.csv.CsvViewExporter;
@@ -65,6 +68,7 @@ import org.jmesa.view.excel.ExcelView;
 import org.jmesa.view.excel.ExcelViewExporter;
 import org.jmesa.view.html.HtmlConstants;
 import org.jmesa.view.html.HtmlView;
+import org.jmesa.view.html.component.HtmlColumn;
 import org.jmesa.view.html.toolbar.Toolbar;
 import org.jmesa.view.jexcel.JExcelView;
 import org.jmesa.view.jexcel.JExcelViewExporter;
@@ -140,6 +144,8 @@ public class TableFacade {
     private View view;
     private ViewExporter viewExporter;
     private boolean autoFilterAndSort = true;
+    private Object dataVersion;
+    private Map<String, Class<?>> propertyTypes;
     private boolean editable;
     private Worksheet worksheet;
     private WorksheetState worksheetState;
@@ -450,6 +456,42 @@ public class TableFacade {
         this.autoFilterAndSort = autoFilterAndSort;
     }
 
+    /**
+     * Set a version of the items to cache the filtered and sorted rows of the table. Paging
+     * through the table then does not filter and sort the items again. The version needs to
+     * change whenever the items change. The cache is shared by the whole application, so if the
+     * items are different for each user then the version needs to include the user as well.
+     *
+     * @param dataVersion The version of the items, or null to not cache the rows.
+     * @since 4.1
+     */
+    public void setDataVersion(Object dataVersion) {
+		
+        validateCoreContextIsNull(coreContext, "dataVersion");
+
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * Declare the type of a property so that the row filter and the column sort do not need to
+     * find it from the items. The property type of each HtmlColumn is also declared when the
+     * table is set.
+     *
+     * @param property The column property.
+     * @param type The type of the property.
+     * @since 4.1
+     */
+    public void setPropertyType(String property, Class<?> type) {
+		
+        validateCoreContextIsNull(coreContext, "propertyType");
+
+        if (propertyTypes == null) {
+            propertyTypes = new HashMap<String, Class<?>>();
+        }
+
+        propertyTypes.put(property, type);
+    }
+
     /**
      * Get the Messages. If the Messages does not exist then one will be created.
      */
@@ -621,6 +663,13 @@ public class TableFacade {
         factory.setMessages(getMessages());
         factory.setColumnSort(columnSort);
         factory.setRowFilter(rowFilter);
+        factory.setDataVersion(dataVersion);
+
+        if (propertyTypes != null) {
+            for (Map.Entry<String, Class<?>> entry : propertyTypes.entrySet()) {
+                factory.setPropertyType(entry.getKey(), entry.getValue());
+            }
+        }
 
         if (filterMatchers != null) {
             Set<MatcherKey> keySet = filterMatchers.keySet();
@@ -661,6 +710,14 @@ public class TableFacade {
     public void setTable(Table table) {
 		
         validateViewIsNull(view, "Table");
+
+        if (coreContext == null && table.getRow() != null) {
+            for (Column column : table.getRow().getColumns()) {
+                if (column instanceof HtmlColumn && ((HtmlColumn) column).getPropertyType() != null) {
+                    setPropertyType(column.getProperty(), ((HtmlColumn) column).getPropertyType());
+                }
+            }
+        }
         
         TableFacadeUtils.initTable(this, table);
         this.table = table;
@@ -808,6 +865,36 @@ public class TableFacade {
         return null;
     }
 
+    /**
+     * Generate the view and write it out to the Writer, such as the response Writer. The
+     * HtmlView streams the table to the Writer instead of building it up as a String first. An
+     * export will be written out to the response.
+     *
+     * @since 4.1
+     * @param writer The Writer to write the html to.
+     */
+    public void render(Writer writer) {
+		
+        Limit l = getLimit();
+        View v = getView();
+
+        if (l.hasExport()) {
+            renderExport(l.getExportType(), v);
+            return;
+        }
+
+        if (v instanceof HtmlView) {
+            ((HtmlView) v).render(writer);
+            return;
+        }
+
+        try {
+            writer.write(v.render().toString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Not able to write the view.", e);
+        }
+    }
+
     protected void renderExport(String exportType, View view) {
 		
         validateResponseIsNotNull(response);
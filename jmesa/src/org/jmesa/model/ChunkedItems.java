@@ -0,0 +1,46 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.model;
+
+import java.util.Collection;
+import org.jmesa.limit.Limit;
+
+/**
+ * <p>
+ * Use to read the items a chunk of rows at a time. An export pulls the rows in chunks as they are
+ * written out, so the whole result set is never held in memory. An html table gets its one page
+ * of items as a single chunk.
+ * </p>
+ *
+ * <p>
+ * Just like the PageItems the items need to be filtered and sorted using the Limit.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public interface ChunkedItems {
+		
+    public int getTotalRows(Limit limit);
+
+    /**
+     * @param limit The Limit to filter and sort the items with.
+     * @param rowStart The first row of the chunk, starting at zero.
+     * @param rowEnd The row after the last row of the chunk.
+     * @return The items of the chunk.
+     */
+    public Collection<?> getItems(Limit limit, int rowStart, int rowEnd);
+}
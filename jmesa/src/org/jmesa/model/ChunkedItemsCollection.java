@@ -0,0 +1,117 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.model;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.jmesa.core.StreamedItems;
+import org.jmesa.limit.Limit;
+
+/**
+ * <p>
+ * The rows of a ChunkedItems as a Collection. The rows are read one chunk at a time while the
+ * Collection is iterated and a chunk is let go as soon as the next one is read. Each iteration
+ * reads the rows again.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ChunkedItemsCollection extends AbstractCollection<Object> implements StreamedItems {
+		
+    private final ChunkedItems chunkedItems;
+    private final Limit limit;
+    private final int totalRows;
+    private final int chunkSize;
+
+    /**
+     * @param chunkedItems The ChunkedItems to read the rows from.
+     * @param limit The Limit to filter and sort the items with.
+     * @param totalRows The total number of rows.
+     * @param chunkSize The number of rows to read at a time.
+     */
+    public ChunkedItemsCollection(ChunkedItems chunkedItems, Limit limit, int totalRows, int chunkSize) {
+		
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunkSize must be greater than zero.");
+        }
+
+        this.chunkedItems = chunkedItems;
+        this.limit = limit;
+        this.totalRows = totalRows;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int size() {
+		
+        return totalRows;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+		
+        return new ChunkIterator();
+    }
+
+    private class ChunkIterator implements Iterator<Object> {
+		
+        private Iterator<?> chunk;
+        private int nextRow;
+
+        @Override
+        public boolean hasNext() {
+		
+            while (chunk == null || !chunk.hasNext()) {
+                if (nextRow >= totalRows) {
+                    return false;
+                }
+
+                int rowEnd = Math.min(nextRow + chunkSize, totalRows);
+                Collection<?> items = chunkedItems.getItems(limit, nextRow, rowEnd);
+                if (items == null || items.isEmpty()) {
+                    nextRow = totalRows;
+                    chunk = null;
+                    return false;
+                }
+
+                nextRow = rowEnd;
+                chunk = items.iterator();
+            }
+
+            return true;
+        }
+
+        @Override
+        public Object next() {
+		
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return chunk.next();
+        }
+
+        @Override
+        public void remove() {
+		
+            throw new UnsupportedOperationException("The chunked items are read only.");
+        }
+    }
+}
@@ -59,6 +59,8 @@ public class TableModel {
     private Collection<?> items;
     private PageItems pageItems;
     private AllItems allItems;
+    private ChunkedItems chunkedItems;
+    private int chunkSize = TableModelUtils.DEFAULT_CHUNK_SIZE;
     private Preferences preferences;
     private Messages messages;
     private String[] exportTypes;
@@ -68,6 +70,7 @@ public class TableModel {
     private String stateAttr;
     private Limit limit;
     private boolean autoFilterAndSort = true;
+    private Object dataVersion;
     private Map<MatcherKey, FilterMatcher> filterMatchers;
     private FilterMatcherMap filterMatcherMap;
     private ColumnSort columnSort;
@@ -156,6 +159,27 @@ public class TableModel {
         this.allItems = allItems;
     }
 
+    /**
+     * Use to read the items a chunk at a time. An export streams all
+     * the rows while only holding one chunk of them in memory.
+     *
+     * @since 4.1
+     */
+    public void setItems(ChunkedItems chunkedItems) {
+		
+        this.chunkedItems = chunkedItems;
+    }
+
+    /**
+     * @param chunkSize The number of rows to read at a time when exporting.
+     * @since 4.1
+     */
+    public void setItems(ChunkedItems chunkedItems, int chunkSize) {
+		
+        this.chunkedItems = chunkedItems;
+        this.chunkSize = chunkSize;
+    }
+
     public void setPreferences(Preferences preferences) {
 		
         this.preferences = preferences;
@@ -218,6 +242,16 @@ public class TableModel {
         this.autoFilterAndSort = autoFilterAndSort;
     }
 
+    /**
+     * @param dataVersion The version of the items, which needs to include the user if the items
+     *            are different for each user. See TableFacade.setDataVersion().
+     * @since 4.1
+     */
+    public void setDataVersion(Object dataVersion) {
+		
+        this.dataVersion = dataVersion;
+    }
+
     public void addFilterMatcher(MatcherKey key, FilterMatcher matcher) {
 		
         if (filterMatchers == null) {
@@ -369,11 +403,17 @@ public class TableModel {
             items = getItems(tableFacade, pageItems);
         } else if (allItems != null) {
             items = allItems.getItems();
+        } else if (chunkedItems != null) {
+            items = getItems(tableFacade, chunkedItems, chunkSize);
         }
         
         tableFacade.setItems(items);
         tableFacade.autoFilterAndSort(autoFilterAndSort);
 
+        if (dataVersion != null) {
+            tableFacade.setDataVersion(dataVersion);
+        }
+
         if (table != null) {
             tableFacade.setTable(table);
         }
@@ -50,6 +50,7 @@ import com.google.gson.reflect.TypeToken;
 public class TableModelUtils {
 		
     public static String LIMIT_ATTR = "_LIMIT_ATTR";
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
     private static final Gson GSON = new Gson();
 
     protected TableModelUtils(){}
@@ -103,6 +104,45 @@ public class TableModelUtils {
 		
         Limit limit = tableFacade.getLimit();
         int totalRows = pageItems.getTotalRows(limit);
+        setTotalRows(tableFacade, limit, totalRows);
+
+        return pageItems.getItems(limit);
+    }
+
+    /**
+     * @since 4.1
+     */
+    public static Collection<?> getItems(String id, HttpServletRequest request, ChunkedItems chunkedItems) {
+		
+        TableFacade tableFacade = new TableFacade(id, request);
+        tableFacade.autoFilterAndSort(false);
+        Collection<?> items = getItems(tableFacade, chunkedItems, DEFAULT_CHUNK_SIZE);
+        request.setAttribute(tableFacade.getId() + LIMIT_ATTR, tableFacade.getLimit());
+        return items;
+    }
+
+    /**
+     * An export gets all the rows as a ChunkedItemsCollection, which reads the rows a chunk at a
+     * time while it is iterated. Otherwise the one page of rows is read.
+     *
+     * @since 4.1
+     */
+    protected static Collection<?> getItems(TableFacade tableFacade, ChunkedItems chunkedItems, int chunkSize) {
+		
+        Limit limit = tableFacade.getLimit();
+        int totalRows = chunkedItems.getTotalRows(limit);
+        setTotalRows(tableFacade, limit, totalRows);
+
+        if (limit.hasExport()) {
+            return new ChunkedItemsCollection(chunkedItems, limit, totalRows, chunkSize);
+        }
+
+        RowSelect rowSelect = limit.getRowSelect();
+        return chunkedItems.getItems(limit, rowSelect.getRowStart(), rowSelect.getRowEnd());
+    }
+
+    private static void setTotalRows(TableFacade tableFacade, Limit limit, int totalRows) {
+		
         if (limit.hasRowSelect()) {
             int page = limit.getRowSelect().getPage();
             int maxRows = limit.getRowSelect().getMaxRows();
@@ -110,8 +150,6 @@ public class TableModelUtils {
         } else {
             tableFacade.setTotalRows(totalRows);
         }
-
-        return pageItems.getItems(limit);
     }
 
     public static boolean saveWorksheet(String id, HttpServletRequest request, WorksheetSaver worksheetSaver) {
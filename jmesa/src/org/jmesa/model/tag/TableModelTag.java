@@ -42,6 +42,7 @@ import static org.jmesa.model.TableModelUtils.LIMIT_ATTR;
 import org.jmesa.view.View;
 import org.jmesa.view.ViewUtils;
 import org.jmesa.view.html.HtmlUtils;
+import org.jmesa.view.html.HtmlView;
 import org.jmesa.view.html.component.HtmlTable;
 import org.jmesa.web.JspPageWebContext;
 import org.jmesa.web.WebContext;
@@ -544,8 +545,12 @@ public class TableModelTag extends SimpleTagSupport {
         }
 
         View v = tableFacade.getView();
-        String html = v.render().toString();
-        getJspContext().getOut().print(html);
+        if (v instanceof HtmlView) {
+            ((HtmlView) v).render(getJspContext().getOut());
+        } else {
+            String html = v.render().toString();
+            getJspContext().getOut().print(html);
+        }
     }
 
     protected WebContext getWebContext() {
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.util;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>
+ * A cache of values, such as reflective lookups, by class. The caches hold on to the classes,
+ * so when the JMesa jar is shared by web applications they need to be cleared when a web
+ * application is stopped, otherwise its classes can not be unloaded. All the caches are cleared
+ * with the clearAll() method, which the JmesaServletContextListener calls when the web
+ * application is stopped.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public final class ClassCache<V> {
+		
+    private static final List<ClassCache<?>> CACHES = new CopyOnWriteArrayList<ClassCache<?>>();
+
+    private final ConcurrentMap<Class<?>, V> values = new ConcurrentHashMap<Class<?>, V>();
+
+    public ClassCache() {
+		
+        CACHES.add(this);
+    }
+
+    /**
+     * @param type The class.
+     * @return The value for the class, or null if there is none.
+     */
+    public V get(Class<?> type) {
+		
+        return values.get(type);
+    }
+
+    /**
+     * Put the value for the class unless there is one already.
+     *
+     * @param type The class.
+     * @param value The value for the class.
+     * @return The value that is in the cache for the class.
+     */
+    public V putIfAbsent(Class<?> type, V value) {
+		
+        V existing = values.putIfAbsent(type, value);
+        if (existing != null) {
+            return existing;
+        }
+
+        return value;
+    }
+
+    public void clear() {
+		
+        values.clear();
+    }
+
+    /**
+     * Clear all the class caches so that no classes are held on to.
+     */
+    public static void clearAll() {
+		
+        for (ClassCache<?> cache : CACHES) {
+            cache.clear();
+        }
+    }
+}
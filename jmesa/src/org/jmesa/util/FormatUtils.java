@@ -0,0 +1,146 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.util;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang.time.FastDateFormat;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * <p>
+ * The number and date formats of the cell editors and filter matchers, which are only created
+ * once for each pattern and locale and then shared by all the requests. A null locale is the
+ * default locale.
+ * </p>
+ *
+ * <p>
+ * The FastDateFormat and the DateTimeFormatter are thread safe. A DecimalFormat is not, so each
+ * thread gets its own copy of it.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class FormatUtils {
+		
+    private static final ConcurrentMap<Locale, ConcurrentMap<String, ThreadLocal<DecimalFormat>>> DECIMAL_FORMATS =
+            new ConcurrentHashMap<Locale, ConcurrentMap<String, ThreadLocal<DecimalFormat>>>();
+
+    private static final ConcurrentMap<Locale, ConcurrentMap<String, FastDateFormat>> DATE_FORMATS =
+            new ConcurrentHashMap<Locale, ConcurrentMap<String, FastDateFormat>>();
+
+    private static final ConcurrentMap<Locale, ConcurrentMap<String, DateTimeFormatter>> DATE_TIME_FORMATTERS =
+            new ConcurrentHashMap<Locale, ConcurrentMap<String, DateTimeFormatter>>();
+
+    private FormatUtils() {}
+
+    /**
+     * @param pattern The number pattern.
+     * @param locale The locale, or null for the default locale.
+     * @return The DecimalFormat of the current thread.
+     */
+    public static DecimalFormat getDecimalFormat(String pattern, Locale locale) {
+		
+        ConcurrentMap<String, ThreadLocal<DecimalFormat>> formats = getFormats(DECIMAL_FORMATS, locale);
+
+        ThreadLocal<DecimalFormat> format = formats.get(pattern);
+        if (format == null) {
+            final DecimalFormat df = (DecimalFormat) NumberFormat.getInstance(getLocale(locale));
+            df.applyPattern(pattern);
+
+            format = new ThreadLocal<DecimalFormat>() {
+                @Override
+                protected DecimalFormat initialValue() {
+		
+                    return (DecimalFormat) df.clone();
+                }
+            };
+            ThreadLocal<DecimalFormat> existing = formats.putIfAbsent(pattern, format);
+            if (existing != null) {
+                format = existing;
+            }
+        }
+
+        return format.get();
+    }
+
+    /**
+     * @param pattern The date pattern.
+     * @param locale The locale, or null for the default locale.
+     * @return The FastDateFormat.
+     */
+    public static FastDateFormat getDateFormat(String pattern, Locale locale) {
+		
+        ConcurrentMap<String, FastDateFormat> formats = getFormats(DATE_FORMATS, locale);
+
+        FastDateFormat format = formats.get(pattern);
+        if (format == null) {
+            format = FastDateFormat.getInstance(pattern, getLocale(locale));
+            formats.putIfAbsent(pattern, format);
+        }
+
+        return format;
+    }
+
+    /**
+     * @param pattern The date pattern.
+     * @param locale The locale, or null for the default locale.
+     * @return The Joda Time DateTimeFormatter.
+     */
+    public static DateTimeFormatter getDateTimeFormatter(String pattern, Locale locale) {
+		
+        ConcurrentMap<String, DateTimeFormatter> formatters = getFormats(DATE_TIME_FORMATTERS, locale);
+
+        DateTimeFormatter formatter = formatters.get(pattern);
+        if (formatter == null) {
+            formatter = DateTimeFormat.forPattern(pattern).withLocale(getLocale(locale));
+            formatters.putIfAbsent(pattern, formatter);
+        }
+
+        return formatter;
+    }
+
+    private static <T> ConcurrentMap<String, T> getFormats(ConcurrentMap<Locale, ConcurrentMap<String, T>> formatsByLocale, Locale locale) {
+		
+        Locale key = getLocale(locale);
+
+        ConcurrentMap<String, T> formats = formatsByLocale.get(key);
+        if (formats == null) {
+            formats = new ConcurrentHashMap<String, T>();
+            ConcurrentMap<String, T> existing = formatsByLocale.putIfAbsent(key, formats);
+            if (existing != null) {
+                formats = existing;
+            }
+        }
+
+        return formats;
+    }
+
+    private static Locale getLocale(Locale locale) {
+		
+        if (locale == null) {
+            return Locale.getDefault();
+        }
+
+        return locale;
+    }
+}
@@ -18,6 +18,7 @@ package org.jmesa.util;
 import java.util.Collection;
 import java.util.Map;
 
+import org.apache.commons.beanutils.DynaBean;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,17 +69,30 @@ public class ItemUtils {
 
                 itemValue = getItemValue(bean, property);
             } else {
-                itemValue = PropertyUtils.getProperty(item, property);
+                itemValue = PropertyAccessor.getProperty(item, property);
             }
         } catch (Exception e) {
-            logger.debug("item class " + item.getClass().getName() + " does not have property " + property);
+            if (logger.isDebugEnabled()) {
+                String itemClass = item == null ? null : item.getClass().getName();
+                logger.debug("item class " + itemClass + " does not have property " + property);
+            }
         }
 
         return itemValue;
     }
 
     /**
+     * <p>
      * Get the Class for the property.
+     * </p>
+     *
+     * <p>
+     * The type of a simple Bean property is only looked up the first time for each Bean class
+     * and property, with the PropertyAccessor. The type of a nested property depends on the
+     * values of the Bean, and the type of a Map value is found from the first Map that has a
+     * value for the property, so those are not kept. Declare the type on the column to not read
+     * the items at all.
+     * </p>
      * 
      * @param items The Collection of Beans or Maps.
      * @param property The Bean attribute or Map key.
@@ -100,8 +114,32 @@ public class ItemUtils {
 
                 return val.getClass();
             }
+
+            return getBeanPropertyType(item, property);
+        }
+
+        if (item == null || item instanceof DynaBean) {
+            return getBeanPropertyType(item, property);
+        }
+
+        if (isSimpleProperty(property)) {
+            PropertyAccessor accessor = PropertyAccessor.getAccessor(item.getClass(), property);
+            if (accessor != null) {
+                return accessor.getPropertyType();
+            }
         }
 
+        return getBeanPropertyType(item, property);
+    }
+
+    private static boolean isSimpleProperty(String property) {
+		
+        return property.indexOf('.') == -1 && property.indexOf('[') == -1 && property.indexOf('(') == -1;
+    }
+
+    private static Class<?> getBeanPropertyType(Object item, String property)
+        throws Exception {
+
         Class<?> type;
         try {
             type = PropertyUtils.getPropertyType(item, property);
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.util;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class MethodUtils {
+		
+    private static final ClassCache<ConcurrentMap<List<Object>, Boolean>> OVERLOADS = new ClassCache<ConcurrentMap<List<Object>, Boolean>>();
+
+    private MethodUtils() {}
+
+    /**
+     * <p>
+     * Find out if a method that takes one more parameter at the end, such as a Writer or an
+     * HtmlBuilder to write to, can be used in place of the method without it. The overload needs
+     * to be declared in the same class as the method, or a subclass of it. That way a subclass
+     * that only overrides the method is still used the way it was written.
+     * </p>
+     *
+     * @param type The class of the object to call the method on.
+     * @param methodName The name of the method.
+     * @param lastParameterType The type of the extra last parameter of the overload.
+     * @param parameterTypes The parameter types of the method.
+     * @return Is true if the overload can be used.
+     */
+    public static boolean isOverloadUsed(Class<?> type, String methodName, Class<?> lastParameterType, Class<?>... parameterTypes) {
+		
+        ConcurrentMap<List<Object>, Boolean> overloads = OVERLOADS.get(type);
+        if (overloads == null) {
+            overloads = OVERLOADS.putIfAbsent(type, new ConcurrentHashMap<List<Object>, Boolean>());
+        }
+
+        List<Object> key = Arrays.<Object>asList(methodName, lastParameterType, Arrays.asList(parameterTypes));
+
+        Boolean result = overloads.get(key);
+        if (result == null) {
+            Class<?>[] overloadParameterTypes = new Class<?>[parameterTypes.length + 1];
+            System.arraycopy(parameterTypes, 0, overloadParameterTypes, 0, parameterTypes.length);
+            overloadParameterTypes[parameterTypes.length] = lastParameterType;
+            try {
+                Method method = type.getMethod(methodName, parameterTypes);
+                Method overload = type.getMethod(methodName, overloadParameterTypes);
+                result = method.getDeclaringClass().isAssignableFrom(overload.getDeclaringClass());
+            } catch (NoSuchMethodException e) {
+                result = Boolean.FALSE;
+            }
+            overloads.putIfAbsent(key, result);
+        }
+
+        return result;
+    }
+}
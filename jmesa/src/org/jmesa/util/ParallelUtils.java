@@ -0,0 +1,164 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Utilities to split the work on large tables across the processors. The tasks are run on one
+ * shared pool of daemon threads that is sized to the number of processors.
+ * </p>
+ *
+ * <p>
+ * The pool is created the first time it is needed and is shut down by the shutdown() method, which
+ * the JmesaServletContextListener calls when the web application is stopped. An application that
+ * already has an ExecutorService can pass it to setExecutorService() instead, in which case the
+ * application is responsible for shutting it down.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ParallelUtils {
+		
+    private static ExecutorService executorService;
+    private static boolean shared;
+
+    private ParallelUtils() {}
+
+    /**
+     * @return The number of tasks that can run at the same time.
+     */
+    public static int getParallelism() {
+		
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @param size The number of rows.
+     * @param parallelThreshold The number of rows at which the work is done in parallel.
+     * @return Is true if the rows should be split across the processors.
+     */
+    public static boolean isParallel(int size, int parallelThreshold) {
+		
+        return size >= parallelThreshold && getParallelism() > 1;
+    }
+
+    /**
+     * Split the rows into ranges of about the same size.
+     *
+     * @param size The total number of rows.
+     * @param chunks The number of ranges.
+     * @return The range bounds, where range i is from bounds[i] (inclusive) to bounds[i + 1] (exclusive).
+     */
+    public static int[] getChunkBounds(int size, int chunks) {
+		
+        if (chunks > size) {
+            chunks = Math.max(size, 1);
+        }
+
+        int[] bounds = new int[chunks + 1];
+        for (int i = 0; i <= chunks; i++) {
+            bounds[i] = (int) ((long) size * i / chunks);
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Run the tasks on the shared pool and wait for all of them to finish.
+     *
+     * @param tasks The tasks to run.
+     * @return The task results in the same order as the tasks.
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+		
+        List<T> results = new ArrayList<T>(tasks.size());
+
+        try {
+            List<Future<T>> futures = getExecutorService().invokeAll(tasks);
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Was interrupted while waiting for the parallel tasks.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Had problems running the parallel tasks.", cause);
+        }
+
+        return results;
+    }
+
+    /**
+     * Use the given ExecutorService to run the tasks instead of the shared pool. The caller owns
+     * the ExecutorService and needs to shut it down.
+     *
+     * @param executorService The ExecutorService to run the tasks on, or null to use the shared pool.
+     */
+    public static synchronized void setExecutorService(ExecutorService executorService) {
+		
+        shutdown();
+        ParallelUtils.executorService = executorService;
+    }
+
+    /**
+     * Shut down the shared pool. A pool that was passed to setExecutorService() is not shut down,
+     * but is no longer used. A new shared pool is created if there are more tasks to run.
+     */
+    public static synchronized void shutdown() {
+		
+        if (executorService != null && shared) {
+            executorService.shutdown();
+        }
+
+        executorService = null;
+        shared = false;
+    }
+
+    private static synchronized ExecutorService getExecutorService() {
+		
+        if (executorService == null) {
+            shared = true;
+            executorService = Executors.newFixedThreadPool(getParallelism(), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+		
+                    Thread thread = new Thread(runnable, "jmesa-parallel-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return executorService;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.jmesa.util;
 
+import org.apache.commons.lang.StringUtils;
 import org.jmesa.core.CoreContext;
 import org.jmesa.core.preference.Preferences;
 
@@ -45,4 +46,21 @@ public class PreferencesUtils {
             throw new IllegalStateException("The class " + className + " does not exist");
         }
     }
+
+    /**
+     * @param preferences The preferences, or null if there are none.
+     * @param property The preference to read.
+     * @param defaultValue The value to use if the preference is not set.
+     * @return The whole number value of the preference.
+     * @since 4.1
+     */
+    public static int getIntPreference(Preferences preferences, String property, int defaultValue) {
+        
+        String value = preferences == null ? null : preferences.getPreference(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+
+        return Integer.parseInt(value.trim());
+    }
 }
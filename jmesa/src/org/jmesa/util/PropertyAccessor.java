@@ -0,0 +1,190 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.util;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * <p>
+ * A cached read accessor for one simple (not nested) Bean property. The commons Beanutils
+ * introspection is only done the first time a class and property are asked for. After that
+ * reading a value is a lookup in the cache and a Method invoke.
+ * </p>
+ *
+ * <p>
+ * Nested properties, such as name.firstName, are resolved one step at a time against the runtime
+ * class of each value so that the accessors work the same way as the commons Beanutils does. The
+ * indexed and mapped property syntax is passed straight through to the commons Beanutils.
+ * </p>
+ *
+ * <p>
+ * The accessors are kept in a ClassCache, which is cleared when the web application is stopped.
+ * </p>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public final class PropertyAccessor {
+		
+    private static final ClassCache<ConcurrentMap<String, PropertyAccessor>> ACCESSORS
+        = new ClassCache<ConcurrentMap<String, PropertyAccessor>>();
+
+    private static final ConcurrentMap<String, String[]> PATHS = new ConcurrentHashMap<String, String[]>();
+
+    /**
+     * Marks a property that does not have a read method so the lookup is not repeated.
+     */
+    private static final PropertyAccessor UNREADABLE = new PropertyAccessor(null);
+
+    private final Method readMethod;
+
+    private PropertyAccessor(Method readMethod) {
+		
+        this.readMethod = readMethod;
+    }
+
+    /**
+     * Get the accessor for the simple property of the class.
+     *
+     * @param type The Bean class.
+     * @param property The simple (not nested) Bean property.
+     * @return The accessor, or null if the class does not have a readable property with that name.
+     */
+    public static PropertyAccessor getAccessor(Class<?> type, String property) {
+		
+        ConcurrentMap<String, PropertyAccessor> accessors = ACCESSORS.get(type);
+        if (accessors == null) {
+            accessors = ACCESSORS.putIfAbsent(type, new ConcurrentHashMap<String, PropertyAccessor>());
+        }
+
+        PropertyAccessor accessor = accessors.get(property);
+        if (accessor == null) {
+            accessor = createAccessor(type, property);
+            accessors.putIfAbsent(property, accessor);
+        }
+
+        if (accessor == UNREADABLE) {
+            return null;
+        }
+
+        return accessor;
+    }
+
+    private static PropertyAccessor createAccessor(Class<?> type, String property) {
+		
+        PropertyDescriptor[] descriptors = PropertyUtils.getPropertyDescriptors(type);
+        if (descriptors == null) {
+            return UNREADABLE;
+        }
+
+        for (PropertyDescriptor descriptor : descriptors) {
+            if (property.equals(descriptor.getName())) {
+                Method method = PropertyUtils.getReadMethod(descriptor);
+                if (method == null) {
+                    return UNREADABLE;
+                }
+
+                return new PropertyAccessor(method);
+            }
+        }
+
+        return UNREADABLE;
+    }
+
+    /**
+     * Get the value from the Bean by property. The property can use dot (.) notation to access
+     * nested values.
+     *
+     * @param bean The Bean.
+     * @param property The Bean attribute.
+     * @return The value, or null if one of the nested values is null.
+     * @throws NoSuchMethodException If one of the properties does not have a read method.
+     */
+    public static Object getProperty(Object bean, String property)
+        throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		
+        if (bean == null) {
+            throw new IllegalArgumentException("No bean specified");
+        }
+
+        if (property == null) {
+            throw new IllegalArgumentException("No name specified");
+        }
+
+        if (bean instanceof DynaBean || property.indexOf('[') != -1 || property.indexOf('(') != -1) {
+            return PropertyUtils.getProperty(bean, property);
+        }
+
+        Object value = bean;
+        for (String name : getPath(property)) {
+            if (value == null) {
+                return null;
+            }
+
+            if (value instanceof Map) {
+                value = ((Map<?, ?>) value).get(name);
+                continue;
+            }
+
+            PropertyAccessor accessor = getAccessor(value.getClass(), name);
+            if (accessor == null) {
+                throw new NoSuchMethodException("Unknown property '" + name + "' on class '" + value.getClass() + "'");
+            }
+
+            value = accessor.getValue(value);
+        }
+
+        return value;
+    }
+
+    private static String[] getPath(String property) {
+		
+        String[] path = PATHS.get(property);
+        if (path == null) {
+            path = StringUtils.split(property, '.');
+            PATHS.putIfAbsent(property, path);
+        }
+
+        return path;
+    }
+
+    /**
+     * @param bean The Bean to read the value from.
+     * @return The property value.
+     */
+    public Object getValue(Object bean)
+        throws IllegalAccessException, InvocationTargetException {
+		
+        return readMethod.invoke(bean);
+    }
+
+    /**
+     * @return The declared type of the property.
+     */
+    public Class<?> getPropertyType() {
+		
+        return readMethod.getReturnType();
+    }
+}
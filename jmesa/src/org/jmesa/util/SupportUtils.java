@@ -15,13 +15,18 @@
  */
 package org.jmesa.util;
 
+import java.util.Map;
+
 import org.jmesa.core.CoreContext;
 import org.jmesa.core.CoreContextSupport;
 import org.jmesa.core.IdSupport;
+import org.jmesa.core.PropertyTypesSupport;
 import org.jmesa.core.filter.FilterMatcherRegistry;
 import org.jmesa.core.filter.FilterMatcherRegistrySupport;
 import org.jmesa.core.message.Messages;
 import org.jmesa.core.message.MessagesSupport;
+import org.jmesa.core.preference.Preferences;
+import org.jmesa.core.preference.PreferencesSupport;
 import org.jmesa.limit.state.StateAttrSupport;
 import org.jmesa.view.ExportTypesSupport;
 import org.jmesa.view.component.Column;
@@ -117,6 +122,19 @@ public class SupportUtils {
         }
     }
 
+    /**
+     * Set the Preferences on the object being inspected if it is not already set.
+     *
+     * @param obj The object being inspected.
+     * @param preferences The object to be injected.
+     */
+    public static void setPreferences(Object obj, Preferences preferences) {
+		
+        if ((obj instanceof PreferencesSupport) && ((PreferencesSupport) obj).getPreferences() == null) {
+            ((PreferencesSupport) obj).setPreferences(preferences);
+        }
+    }
+
     /**
      * Set the String pattern on the object being inspected if it is not already set.
      * 
@@ -246,4 +264,17 @@ public class SupportUtils {
             ((FilterMatcherRegistrySupport) obj).setFilterMatcherRegistry(registry);
         }
     }
+
+    /**
+     * Set the declared property types on the object being inspected if they are not already set.
+     *
+     * @param obj The object being inspected.
+     * @param propertyTypes The object to be injected.
+     */
+    public static void setPropertyTypes(Object obj, Map<String, Class<?>> propertyTypes) {
+		
+        if (obj instanceof PropertyTypesSupport && ((PropertyTypesSupport) obj).getPropertyTypes() == null) {
+            ((PropertyTypesSupport) obj).setPropertyTypes(propertyTypes);
+        }
+    }
 }
@@ -25,4 +25,5 @@ public class ExportConstants {
     public static final String PDF_FONT_NAME = "export.pdf.fontName";
     public static final String PDF_FONT_ENCODING = "export.pdf.fontEncoding";
     public static final String ENCODING = "encoding";
+    public static final String EXCEL_2007_ROW_WINDOW = "export.excel2007.rowWindow";
 }
@@ -15,7 +15,9 @@
  */
 package org.jmesa.view.csv;
 
-import java.util.Collection;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Iterator;
 import java.util.List;
 
@@ -46,7 +48,28 @@ public class CsvView extends AbstractExportView {
     @Override
     public Object render() {
 		
-        StringBuilder results = new StringBuilder();
+        StringWriter results = new StringWriter();
+
+        try {
+            render(results);
+        } catch (IOException e) {
+            throw new IllegalStateException("Not able to render the csv view.", e);
+        }
+
+        return results.toString();
+    }
+
+    /**
+     * Write the csv one row at a time so that the export does not need to be built in memory
+     * first. The writer is not flushed or closed.
+     *
+     * @param writer The Writer to write the csv to.
+     * @since 4.1
+     */
+    public void render(Writer writer)
+            throws IOException {
+		
+        String delimiter = String.valueOf(getDelimiter());
 
         List<Column> columns = getTable().getRow().getColumns();
         
@@ -54,13 +77,13 @@ public class CsvView extends AbstractExportView {
         while (headerIterator.hasNext()) {
             Column column = headerIterator.next();
             String title = column.getTitle();
-            results.append("\"").append(escapeValue(title)).append("\"");
+            writeValue(writer, title);
             
             if (headerIterator.hasNext()) {
-                results.append(getDelimiter());                
+                writer.write(delimiter);
             }
         }
-        results.append("\r\n");
+        writer.write("\r\n");
         
         int rowcount = 0;
         for (Object item : getCoreContext().getPageItems()) {
@@ -71,18 +94,30 @@ public class CsvView extends AbstractExportView {
                 Column column = bodyIterator.next();
                 CellRenderer cellRenderer = column.getCellRenderer();
                 Object value = cellRenderer.render(item, rowcount);
-                results.append("\"").append(escapeValue(value)).append("\"");
+                writeValue(writer, value);
                 
                 if (bodyIterator.hasNext()) {
-                    results.append(getDelimiter());                    
+                    writer.write(delimiter);
                 }
             }
-            results.append("\r\n");
+            writer.write("\r\n");
         }
+    }
 
-        return results.toString();
+    /**
+     * Write the value in quotes.
+     */
+    private void writeValue(Writer writer, Object value)
+            throws IOException {
+		
+        writer.write('"');
+        writer.write(escapeValue(value));
+        writer.write('"');
     }
     
+    /**
+     * @return The value with any quotes doubled, or the same value if there are no quotes.
+     */
     String escapeValue(Object value) {
         
         if (value == null) {
@@ -90,6 +125,20 @@ public class CsvView extends AbstractExportView {
         }
         
         String stringval = String.valueOf(value);
-        return stringval.replaceAll("\"", "\"\"");
+        int quote = stringval.indexOf('"');
+        if (quote == -1) {
+            return stringval;
+        }
+
+        StringBuilder escaped = new StringBuilder(stringval.length() + 8);
+        int start = 0;
+        while (quote != -1) {
+            escaped.append(stringval, start, quote + 1).append('"');
+            start = quote + 1;
+            quote = stringval.indexOf('"', start);
+        }
+        escaped.append(stringval, start, stringval.length());
+
+        return escaped.toString();
     }
 }
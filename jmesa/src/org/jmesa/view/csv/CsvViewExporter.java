@@ -15,23 +15,48 @@
  */
 package org.jmesa.view.csv;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
 import javax.servlet.ServletOutputStream;
+import org.jmesa.util.MethodUtils;
 import org.jmesa.view.AbstractViewExporter;
+import org.jmesa.view.View;
 
 /**
+ * <p>
+ * A CsvView is streamed to the response one row at a time in the export encoding, so the memory
+ * that is used does not grow with the number of rows. Any other View, or a CsvView subclass that
+ * only overrides the render() method, is rendered first and then written out.
+ * </p>
+ *
  * @since 2.0
  * @author Jeff Johnston
  */
 public class CsvViewExporter extends AbstractViewExporter {
 		
+    private static final int BUFFER_SIZE = 8192;
+
     @Override
     public void export()
             throws Exception {
         
         responseHeaders();
-        String viewData = (String) getView().render();
-        byte[] contents = (viewData).getBytes();
+
         ServletOutputStream outputStream = getHttpServletResponse().getOutputStream();
+        String encoding = getEncoding();
+
+        View view = getView();
+        if (view instanceof CsvView && MethodUtils.isOverloadUsed(view.getClass(), "render", Writer.class)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, encoding), BUFFER_SIZE);
+            ((CsvView) view).render(writer);
+            writer.flush();
+            return;
+        }
+
+        String viewData = (String) view.render();
+        byte[] contents = viewData.getBytes(encoding);
         outputStream.write(contents);
         outputStream.flush();
     }
@@ -44,7 +69,7 @@ public class CsvViewExporter extends AbstractViewExporter {
 
     @Override
     protected String getExtensionName() {
-
+		
         return "csv";
     }
 }
@@ -19,13 +19,14 @@ import java.util.Date;
 import java.util.Locale;
 import org.apache.commons.lang.StringUtils;
 
-import org.apache.commons.lang.time.DateFormatUtils;
+import org.jmesa.util.FormatUtils;
 import org.jmesa.util.ItemUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * An editor to work with dates. Just send in a valid date pattern and the date will be formated.
+ * The date format is only created once for each pattern and locale.
  * 
  * @since 2.0
  * @author Jeff Johnston
@@ -62,7 +63,7 @@ public class DateCellEditor extends AbstractPatternCellEditor {
             }
 
             Locale locale = getWebContext().getLocale();
-            itemValue = DateFormatUtils.format((Date) itemValue, getPattern(), locale);
+            itemValue = FormatUtils.getDateFormat(getPattern(), locale).format((Date) itemValue);
         } catch (Exception e) {
             logger.warn("Could not process date editor with property " + property, e);
         }
@@ -17,6 +17,7 @@ package org.jmesa.view.editor;
 
 import java.util.Locale;
 import org.apache.commons.lang.StringUtils;
+import org.jmesa.util.FormatUtils;
 import org.jmesa.util.ItemUtils;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
@@ -24,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 /**
  * An editor to work with Joda Time dates. Just send in a valid date pattern and the date will be formated.
+ * The date formatter is only created once for each pattern and locale.
  *
  * @since 2.4.4
  * @author Jeff Johnston
@@ -62,7 +64,12 @@ public class DateTimeCellEditor extends DateCellEditor {
 
             Locale locale = getWebContext().getLocale();
             DateTime dateTime = (DateTime) itemValue;
-            itemValue = dateTime.toString(getPattern(), locale);
+            String pattern = getPattern();
+            if (pattern == null) {
+                itemValue = dateTime.toString();
+            } else {
+                itemValue = FormatUtils.getDateTimeFormatter(pattern, locale).print(dateTime);
+            }
         } catch (Exception e) {
             logger.warn("Could not process date time editor with property " + property, e);
         }
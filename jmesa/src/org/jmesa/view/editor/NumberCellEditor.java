@@ -16,16 +16,16 @@
 package org.jmesa.view.editor;
 
 import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.Locale;
 
+import org.jmesa.util.FormatUtils;
 import org.jmesa.util.ItemUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * An editor to work with numbers. Just send in a valid number pattern and the number will be
- * formated.
+ * formated. The number format is only created once for each pattern and locale.
  * 
  * @since 2.2
  * @author Jeff Johnston
@@ -59,9 +59,7 @@ public class NumberCellEditor extends AbstractPatternCellEditor {
             }
 
             Locale locale = getWebContext().getLocale();
-            NumberFormat nf = NumberFormat.getInstance(locale);
-            DecimalFormat df = (DecimalFormat) nf;
-            df.applyPattern(getPattern());
+            DecimalFormat df = FormatUtils.getDecimalFormat(getPattern(), locale);
             itemValue = df.format(itemValue);
         } catch (Exception e) {
             logger.warn("Could not process number editor with property " + property);
@@ -18,21 +18,35 @@ package org.jmesa.view.editor.expression;
 import static org.jmesa.util.AssertUtils.notNull;
 import org.jmesa.view.editor.*;
 import java.io.StringReader;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import javax.servlet.jsp.el.ELException;
 import javax.servlet.jsp.el.FunctionMapper;
 import javax.servlet.jsp.el.VariableResolver;
 
+import org.apache.commons.el.ComplexValue;
 import org.apache.commons.el.ExpressionString;
+import org.apache.commons.el.NamedValue;
+import org.apache.commons.el.PropertySuffix;
 import org.apache.commons.el.parser.ELParser;
 import org.apache.commons.el.parser.ParseException;
+import org.jmesa.util.PropertyAccessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * <p>
  * Uses commons-el to evaluate EL expressions.
+ * </p>
+ *
+ * <p>
+ * When every expression in the template is a simple property path of the var, such as
+ * ${bean.name.lastName}, the template is compiled once into the text and the property paths. The
+ * values are then read with the cached property accessors instead of the EL evaluation. Any other
+ * expression is evaluated with commons-el.
+ * </p>
  * 
  * @version 2.4
  * @author bgould
@@ -44,6 +58,7 @@ public class ElExpressionCellEditor extends AbstractCellEditor {
 
     private String var;
     private Object template;
+    private CompiledTemplate compiledTemplate;
 
     public ElExpressionCellEditor(Expression expression) {
 		
@@ -64,6 +79,105 @@ public class ElExpressionCellEditor extends AbstractCellEditor {
             this.template = null;
             throw new RuntimeException(e);
         }
+
+        if (!isVariableResolverOverridden()) {
+            this.compiledTemplate = compile(this.template);
+        }
+    }
+
+    /**
+     * @return The compiled template, or null if one of the expressions is not a simple property
+     *         path of the var.
+     */
+    private CompiledTemplate compile(Object parsed) {
+		
+        if (parsed instanceof ExpressionString) {
+            Object[] elements = ((ExpressionString) parsed).getElements();
+            Object[] parts = new Object[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                if (elements[i] instanceof String) {
+                    parts[i] = elements[i];
+                } else {
+                    parts[i] = compilePath(elements[i]);
+                    if (parts[i] == null) {
+                        return null;
+                    }
+                }
+            }
+            return new CompiledTemplate(parts, false);
+        } else if (parsed instanceof org.apache.commons.el.Expression) {
+            PropertyPath path = compilePath(parsed);
+            if (path == null) {
+                return null;
+            }
+            return new CompiledTemplate(new Object[] {path}, true);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The property path, or null if the expression is not a simple property path of
+     *         the var.
+     */
+    private PropertyPath compilePath(Object expression) {
+		
+        if (expression instanceof NamedValue) {
+            if (!var.equals(((NamedValue) expression).getName())) {
+                return null;
+            }
+            return new PropertyPath(null);
+        }
+
+        if (!(expression instanceof ComplexValue)) {
+            return null;
+        }
+
+        ComplexValue complexValue = (ComplexValue) expression;
+        if (!(complexValue.getPrefix() instanceof NamedValue)
+                || !var.equals(((NamedValue) complexValue.getPrefix()).getName())) {
+            return null;
+        }
+
+        List<String> names = new ArrayList<String>();
+        for (Object suffix : complexValue.getSuffixes()) {
+            if (!(suffix instanceof PropertySuffix)) {
+                return null;
+            }
+            String name = ((PropertySuffix) suffix).getName();
+            if (name.indexOf('.') != -1 || name.indexOf('[') != -1 || name.indexOf('(') != -1) {
+                return null;
+            }
+            names.add(name);
+        }
+
+        StringBuilder property = new StringBuilder();
+        for (String name : names) {
+            if (property.length() > 0) {
+                property.append('.');
+            }
+            property.append(name);
+        }
+
+        return new PropertyPath(property.toString());
+    }
+
+    /**
+     * A subclass that resolves the variables itself always has its expressions evaluated by
+     * commons-el.
+     */
+    private boolean isVariableResolverOverridden() {
+		
+        for (Class<?> type = getClass(); type != ElExpressionCellEditor.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("getVariableResolver", Object.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // keep looking in the superclass
+            }
+        }
+
+        return false;
     }
 
     @Override
@@ -71,6 +185,15 @@ public class ElExpressionCellEditor extends AbstractCellEditor {
 		
         Object result = null;
 
+        if (compiledTemplate != null) {
+            try {
+                return compiledTemplate.evaluate(item);
+            } catch (Exception e) {
+                logger.warn("Could not process el expression editor with property " + property, e);
+                return null;
+            }
+        }
+
         try {
             // ExpressionString is a mixture of template text and EL
             // expressions; ex. ${lastName}, ${firstName}
@@ -100,9 +223,7 @@ public class ElExpressionCellEditor extends AbstractCellEditor {
      */
     protected VariableResolver getVariableResolver(Object item) {
 		
-        Map<String, Object> context = new HashMap<String, Object>();
-        context.put(var, item);
-        return new VariableResolverMap(context);
+        return new ItemVariableResolver(var, item);
     }
 
     /**
@@ -131,4 +252,88 @@ public class ElExpressionCellEditor extends AbstractCellEditor {
             return context.get(var);
         }
     }
+
+    /**
+     * VariableResolver that only resolves the var to the row bean.
+     */
+    private static class ItemVariableResolver implements VariableResolver {
+		
+        private final String var;
+        private final Object item;
+
+        ItemVariableResolver(String var, Object item) {
+		
+            this.var = var;
+            this.item = item;
+        }
+
+        @Override
+        public Object resolveVariable(String name) {
+		
+            if (var.equals(name)) {
+                return item;
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * A simple property path of the var. The property is null for the var itself.
+     */
+    private static class PropertyPath {
+		
+        private final String property;
+
+        PropertyPath(String property) {
+		
+            this.property = property;
+        }
+
+        Object getValue(Object item) throws Exception {
+		
+            if (property == null || item == null) {
+                return item;
+            }
+
+            return PropertyAccessor.getProperty(item, property);
+        }
+    }
+
+    /**
+     * The text and the property paths of a template. A single expression keeps the type of its
+     * value, and a template with text is joined into a String the way commons-el does.
+     */
+    private static class CompiledTemplate {
+		
+        private final Object[] parts;
+        private final boolean singleExpression;
+
+        CompiledTemplate(Object[] parts, boolean singleExpression) {
+		
+            this.parts = parts;
+            this.singleExpression = singleExpression;
+        }
+
+        Object evaluate(Object item) throws Exception {
+		
+            if (singleExpression) {
+                return ((PropertyPath) parts[0]).getValue(item);
+            }
+
+            StringBuilder result = new StringBuilder();
+            for (Object part : parts) {
+                if (part instanceof PropertyPath) {
+                    Object value = ((PropertyPath) part).getValue(item);
+                    if (value != null) {
+                        result.append(value.toString());
+                    }
+                } else {
+                    result.append((String) part);
+                }
+            }
+
+            return result.toString();
+        }
+    }
 }
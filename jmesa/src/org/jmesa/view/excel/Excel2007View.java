@@ -15,69 +15,275 @@
  */
 package org.jmesa.view.excel;
 
+import static org.jmesa.view.ExportConstants.EXCEL_2007_ROW_WINDOW;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
-import org.apache.poi.xssf.usermodel.XSSFCell;
-import org.apache.poi.xssf.usermodel.XSSFRichTextString;
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
+import java.util.Locale;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jmesa.view.AbstractExportView;
 import org.jmesa.view.component.Column;
-import org.jmesa.view.component.Row;
 import org.jmesa.view.component.Table;
-import org.springframework.util.StringUtils;
+import org.jmesa.view.editor.CellEditor;
+import org.jmesa.view.editor.PatternSupport;
+import org.jmesa.web.WebContext;
 
 /**
+ * <p>
+ * Render the table as an Excel 2007 workbook.
+ * </p>
+ *
+ * <p>
+ * If the export.excel2007.rowWindow preference (or the rowWindow property) is greater than zero
+ * the workbook is a streaming SXSSFWorkbook. Only that many rows are kept in memory and the rest
+ * are flushed to a temporary file, so the memory that is used does not grow with the number of
+ * rows. Otherwise the whole workbook is built in memory as an XSSFWorkbook.
+ * </p>
+ *
+ * <p>
+ * Numbers are written as numeric cells. When the workbook is streamed, dates are written as date
+ * cells in the pattern of the column export editor, or else in the short date and time format of
+ * the locale. The date cell style is created once for each column. Otherwise dates are written as
+ * text, the same as before.
+ * </p>
+ *
  * @since 4.0.3
  * @author Jeff Johnston
  */
 public class Excel2007View extends AbstractExportView {
 		
+    private Integer rowWindow;
+
+    /**
+     * @return The number of rows kept in memory when streaming, or zero if the workbook is not
+     *         streamed.
+     * @since 4.1
+     */
+    public int getRowWindow() {
+		
+        if (rowWindow == null) {
+            String window = getCoreContext().getPreference(EXCEL_2007_ROW_WINDOW);
+            if (StringUtils.isNotBlank(window)) {
+                rowWindow = Integer.valueOf(window.trim());
+            } else {
+                rowWindow = 0;
+            }
+        }
+
+        return rowWindow;
+    }
+
+    /**
+     * @param rowWindow The number of rows kept in memory when streaming, or zero to not stream.
+     * @since 4.1
+     */
+    public void setRowWindow(int rowWindow) {
+		
+        this.rowWindow = rowWindow;
+    }
+
     @Override
     public Object render() {
 		
-        XSSFWorkbook workbook = new XSSFWorkbook();
+        Workbook workbook = createWorkbook();
         Table table = this.getTable();
         String caption = table.getCaption();
-        if (!StringUtils.hasText(caption)) {
+        if (StringUtils.isBlank(caption)) {
             caption = "JMesa Export";
         }
-        XSSFSheet sheet = workbook.createSheet(caption);
+        Sheet sheet = workbook.createSheet(caption);
 
-        Row row = table.getRow();
-        row.getRowRenderer();
         List<Column> columns = table.getRow().getColumns();
 
         // renderer header
-        XSSFRow hssfRow = sheet.createRow(0);
+        org.apache.poi.ss.usermodel.Row headerRow = sheet.createRow(0);
         int columncount = 0;
         for (Column col : columns) {
-            XSSFCell cell = hssfRow.createCell(columncount++);
-            cell.setCellValue(new XSSFRichTextString(col.getTitle()));
+            Cell cell = headerRow.createCell(columncount++);
+            cell.setCellValue(col.getTitle());
         }
 
+        boolean dateCells = workbook instanceof SXSSFWorkbook;
+        CellStyle[] dateStyles = new CellStyle[columns.size()];
+
         // renderer body
         Collection<?> items = getCoreContext().getPageItems();
         int rowcount = 1;
         for (Object item : items) {
-            XSSFRow r = sheet.createRow(rowcount++);
+            org.apache.poi.ss.usermodel.Row r = sheet.createRow(rowcount++);
             columncount = 0;
             for (Column col : columns) {
-                XSSFCell cell = r.createCell(columncount++);
+                Cell cell = r.createCell(columncount);
                 Object value = col.getCellRenderer().render(item, rowcount);
-                if (value == null) {
-                    value = "";
-                }
 
                 if (value instanceof Number) {
-                    Double number = Double.valueOf(value.toString());
-                    cell.setCellValue(number);
+                    cell.setCellValue(((Number) value).doubleValue());
+                } else if (dateCells && isExcelDate(value)) {
+                    if (dateStyles[columncount] == null) {
+                        dateStyles[columncount] = createDateStyle(workbook, col);
+                    }
+                    cell.setCellValue(toDate(value));
+                    cell.setCellStyle(dateStyles[columncount]);
+                } else if (value != null) {
+                    cell.setCellValue(value.toString());
                 } else {
-                    cell.setCellValue(new XSSFRichTextString(value.toString()));
+                    cell.setCellValue("");
                 }
+
+                columncount++;
             }
         }
+
         return workbook;
     }
+
+    private Workbook createWorkbook() {
+		
+        int window = getRowWindow();
+        if (window > 0) {
+            SXSSFWorkbook workbook = new SXSSFWorkbook(window);
+            workbook.setCompressTempFiles(true);
+            return workbook;
+        }
+
+        return new XSSFWorkbook();
+    }
+
+    /**
+     * Excel can not hold dates before 1900 so those are written as text.
+     */
+    private boolean isExcelDate(Object value) {
+		
+        if (!(value instanceof Date || value instanceof Calendar)) {
+            return false;
+        }
+
+        return DateUtil.isValidExcelDate(DateUtil.getExcelDate(toDate(value)));
+    }
+
+    private Date toDate(Object value) {
+		
+        if (value instanceof Calendar) {
+            return ((Calendar) value).getTime();
+        }
+
+        return (Date) value;
+    }
+
+    private CellStyle createDateStyle(Workbook workbook, Column column) {
+		
+        CellStyle style = workbook.createCellStyle();
+        String format = toExcelFormat(getDatePattern(column));
+        style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(format));
+        return style;
+    }
+
+    /**
+     * @return The pattern of the column export editor, or else the short date and time pattern of
+     *         the locale.
+     */
+    private String getDatePattern(Column column) {
+		
+        CellEditor exportEditor = column.getExportEditor();
+        if (exportEditor instanceof PatternSupport) {
+            String pattern = ((PatternSupport) exportEditor).getPattern();
+            if (StringUtils.isNotBlank(pattern)) {
+                return pattern;
+            }
+        }
+
+        WebContext webContext = getWebContext();
+        Locale locale = webContext != null && webContext.getLocale() != null ? webContext.getLocale() : Locale.getDefault();
+        DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
+        if (dateFormat instanceof SimpleDateFormat) {
+            return ((SimpleDateFormat) dateFormat).toPattern();
+        }
+
+        return "M/d/yy h:mm a";
+    }
+
+    /**
+     * Turn a SimpleDateFormat pattern into an Excel date format. The fields that Excel does not
+     * have, such as the time zone, are left out.
+     */
+    static String toExcelFormat(String pattern) {
+		
+        StringBuilder format = new StringBuilder();
+
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+
+            if (c == '\'') {
+                int end = pattern.indexOf('\'', i + 1);
+                if (end == -1) {
+                    end = length;
+                }
+                if (end == i + 1) {
+                    format.append("\\'");
+                } else {
+                    format.append('"').append(pattern, i + 1, end).append('"');
+                }
+                i = end + 1;
+                continue;
+            }
+
+            int count = 1;
+            while (i + count < length && pattern.charAt(i + count) == c) {
+                count++;
+            }
+
+            switch (c) {
+                case 'y':
+                    format.append(count == 2 ? "yy" : "yyyy");
+                    break;
+                case 'M':
+                case 'd':
+                case 'm':
+                case 's':
+                    appendRepeated(format, c, Math.min(count, 4));
+                    break;
+                case 'h':
+                case 'H':
+                case 'k':
+                case 'K':
+                    appendRepeated(format, 'h', Math.min(count, 2));
+                    break;
+                case 'E':
+                    format.append(count < 4 ? "ddd" : "dddd");
+                    break;
+                case 'a':
+                    format.append("AM/PM");
+                    break;
+                default:
+                    if (!Character.isLetter(c)) {
+                        appendRepeated(format, c, count);
+                    }
+            }
+
+            i += count;
+        }
+
+        return format.toString().trim();
+    }
+
+    private static void appendRepeated(StringBuilder format, char c, int count) {
+		
+        for (int i = 0; i < count; i++) {
+            format.append(c);
+        }
+    }
 }
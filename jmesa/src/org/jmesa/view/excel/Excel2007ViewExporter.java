@@ -15,7 +15,8 @@
  */
 package org.jmesa.view.excel;
 
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.jmesa.view.AbstractViewExporter;
 
 public class Excel2007ViewExporter extends AbstractViewExporter {
@@ -24,9 +25,16 @@ public class Excel2007ViewExporter extends AbstractViewExporter {
     public void export()
             throws Exception {
 
-        XSSFWorkbook workbook = (XSSFWorkbook) this.getView().render();
+        Workbook workbook = (Workbook) this.getView().render();
         responseHeaders();
-        workbook.write(getHttpServletResponse().getOutputStream());
+
+        try {
+            workbook.write(getHttpServletResponse().getOutputStream());
+        } finally {
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+        }
     }
 
     @Override
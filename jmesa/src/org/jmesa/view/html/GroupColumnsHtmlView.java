@@ -33,7 +33,7 @@ public class GroupColumnsHtmlView extends HtmlView {
      * Go through and decorate all the column cell editors.
      */
     @Override
-    public Object render() {
+    public void render(HtmlBuilder html) {
 		
         List<Column> columns = getTable().getRow().getColumns();
         for (Column column : columns) {
@@ -41,6 +41,6 @@ public class GroupColumnsHtmlView extends HtmlView {
             column.setCellEditor(new GroupCellEditor(decoratedCellEditor));
         }
 
-        return super.render();
+        super.render(html);
     }
 }
\ No newline at end of file
@@ -15,7 +15,9 @@
  */
 package org.jmesa.view.html;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URLEncoder;
 import java.util.Map;
 
@@ -34,7 +36,11 @@ import org.apache.commons.lang.StringUtils;
  */
 public class HtmlBuilder {
 		
+    private static final int BUFFER_SIZE = 8192;
+
     private StringBuilder builder;
+    private Writer writer;
+    private char[] chars;
 
     /**
      * Default constructor using a StringWriter, which is really just a
@@ -45,6 +51,27 @@ public class HtmlBuilder {
         this.builder = new StringBuilder();
     }
 
+    /**
+     * <p>
+     * Stream the html to the Writer. The html is buffered and written out
+     * whenever the buffer is full, so call flush() when done to write out the
+     * rest of it.
+     * </p>
+     * 
+     * <p>
+     * The toString() and length() methods only include the html that was not
+     * written out yet.
+     * </p>
+     * 
+     * @since 4.1
+     * @param writer The Writer to write the html to.
+     */
+    public HtmlBuilder(Writer writer) {
+		
+        this.builder = new StringBuilder(BUFFER_SIZE);
+        this.writer = writer;
+    }
+
     /**
      * Write out the content to the internal writer.
      */
@@ -52,17 +79,77 @@ public class HtmlBuilder {
 		
         if (text != null) {
             builder.append(text);
+            if (writer != null && builder.length() >= BUFFER_SIZE) {
+                write();
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Write out part of the content to the internal writer.
+     * 
+     * @since 4.1
+     * @param text The text to take the characters from.
+     * @param start The index of the first character.
+     * @param end The index after the last character.
+     */
+    public HtmlBuilder append(CharSequence text, int start, int end) {
+		
+        if (text != null) {
+            builder.append(text, start, end);
+            if (writer != null && builder.length() >= BUFFER_SIZE) {
+                write();
+            }
         }
 
         return this;
     }
 
+    /**
+     * Write out the buffered html to the Writer and flush it. Does nothing if
+     * the html is not streamed to a Writer.
+     * 
+     * @since 4.1
+     */
+    public void flush() {
+		
+        if (writer == null) {
+            return;
+        }
+
+        write();
+
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Not able to write the html.", e);
+        }
+    }
+
+    private void write() {
+		
+        int length = builder.length();
+        if (chars == null || chars.length < length) {
+            chars = new char[Math.max(length, BUFFER_SIZE)];
+        }
+        builder.getChars(0, length, chars, 0);
+
+        try {
+            writer.write(chars, 0, length);
+            builder.setLength(0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Not able to write the html.", e);
+        }
+    }
+
     /**
      * The length of the internal Writer.
      */
     public int length() {
 		
-        return builder.toString().length();
+        return builder.length();
     }
 
     /**
@@ -49,6 +49,8 @@ public class HtmlConstants {
     public static final String SORT_DEFAULT_IMAGE = "html.column.header.renderer.image.sortDefault";
     public static final String HEADER_RENDERER_ELEMENT = "html.column.header.renderer.element";
     public static final String DROPLIST_HANDLE_IMAGE = "html.column.filter.renderer.image.droplistHandle";
+    public static final String DROPLIST_CACHE_MAX_ENTRIES = "html.column.filter.editor.droplist.cache.maxEntries";
+    public static final String DROPLIST_CACHE_MAX_OPTIONS = "html.column.filter.editor.droplist.cache.maxOptions";
     public static final String CELL_RENDERER_INCLUDE_ID = "html.column.cell.renderer.includeId";
 
     // css names
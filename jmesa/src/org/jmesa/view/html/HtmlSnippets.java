@@ -34,7 +34,11 @@ import org.jmesa.view.editor.PatternSupport;
 import org.jmesa.view.html.component.HtmlColumn;
 import org.jmesa.view.html.component.HtmlRow;
 import org.jmesa.view.html.component.HtmlTable;
+import org.jmesa.view.html.renderer.HtmlCellRenderer;
+import org.jmesa.view.html.renderer.HtmlRowRenderer;
 import org.jmesa.view.html.toolbar.Toolbar;
+import org.jmesa.view.renderer.CellRenderer;
+import org.jmesa.view.renderer.RowRenderer;
 import org.jmesa.worksheet.Worksheet;
 import org.jmesa.worksheet.WorksheetRow;
 import org.jmesa.worksheet.WorksheetRowStatus;
@@ -180,68 +184,73 @@ public class HtmlSnippets extends AbstractContextSupport {
     public String body() {
 		
         HtmlBuilder html = new HtmlBuilder();
+        body(html);
+        return html.toString();
+    }
 
+    /**
+     * Render the rows into the HtmlBuilder that is shared by the whole table.
+     *
+     * @since 4.1
+     * @param html The HtmlBuilder to render the rows into.
+     */
+    public void body(HtmlBuilder html) {
+		
         CoreContext coreContext = getCoreContext();
 
-        html.append(worksheetRowsAdded());
+        if (HtmlUtils.isBuilderMethod(getClass(), "worksheetRowsAdded")) {
+            worksheetRowsAdded(html);
+        } else {
+            html.append(worksheetRowsAdded());
+        }
 
         int rowcount = HtmlUtils.startingRowcount(coreContext);
 
+        RowRendering rowRendering = new RowRendering(table.getRow());
+
         Collection<?> items = coreContext.getPageItems();
         for (Object item : items) {
             rowcount++;
-
-            HtmlRow row = table.getRow();
-            List<Column> columns = row.getColumns();
-
-            html.append(row.getRowRenderer().render(item, rowcount));
-
-            for (Iterator<Column> iter = columns.iterator(); iter.hasNext();) {
-                HtmlColumn column = (HtmlColumn) iter.next();
-                html.append(column.getCellRenderer().render(item, rowcount));
-            }
-
-            html.trEnd(1);
+            rowRendering.render(item, rowcount, rowcount, html);
         }
-        return html.toString();
     }
 
     public String worksheetRowsAdded() {
 		
         HtmlBuilder html = new HtmlBuilder();
+        worksheetRowsAdded(html);
+        return html.toString();
+    }
 
+    /**
+     * Render the added worksheet rows into the HtmlBuilder that is shared by the whole table.
+     *
+     * @since 4.1
+     * @param html The HtmlBuilder to render the rows into.
+     */
+    public void worksheetRowsAdded(HtmlBuilder html) {
+		
         CoreContext coreContext = getCoreContext();
         Worksheet worksheet = coreContext.getWorksheet();
         if (worksheet == null) {
-            return "";
+            return;
         }
 
         List<WorksheetRow> worksheetRows = worksheet.getRowsByStatus(WorksheetRowStatus.ADD);
         if (worksheetRows.isEmpty()) {
-            return "";
+            return;
         }
 
         int rowcount = 0;
 
+        RowRendering rowRendering = new RowRendering(table.getRow());
+
         for (WorksheetRow worksheetRow : worksheetRows) {
             Object item = worksheetRow.getItem();
-
-            HtmlRow row = table.getRow();
-            List<Column> columns = row.getColumns();
-
-            html.append(row.getRowRenderer().render(item, --rowcount));
-
-            for (Iterator<Column> iter = columns.iterator(); iter.hasNext();) {
-                HtmlColumn column = (HtmlColumn) iter.next();
-                html.append(column.getCellRenderer().render(item, 0));
-            }
-
-            html.trEnd(1);
+            rowRendering.render(item, --rowcount, 0, html);
         }
 
         html.append(worksheetRowsAddedHeader("", table.getRow().getColumns().size() + 1));
-
-        return html.toString();
     }
 
     private String worksheetRowsAddedHeader(String title, int colspan) {
@@ -382,4 +391,55 @@ public class HtmlSnippets extends AbstractContextSupport {
     }
     
 
+
+    /**
+     * The row and cell renderers of the table. The html renderers render right into the shared
+     * HtmlBuilder, and the html of any other renderer is appended to it.
+     */
+    private static class RowRendering {
+		
+        private final RowRenderer rowRenderer;
+        private final boolean rowToBuilder;
+        private final CellRenderer[] cellRenderers;
+        private final boolean[] cellToBuilder;
+
+        RowRendering(HtmlRow row) {
+		
+            this.rowRenderer = row.getRowRenderer();
+            this.rowToBuilder = isBuilderRenderer(rowRenderer, HtmlRowRenderer.class);
+
+            List<Column> columns = row.getColumns();
+            this.cellRenderers = new CellRenderer[columns.size()];
+            this.cellToBuilder = new boolean[columns.size()];
+            for (int i = 0; i < cellRenderers.length; i++) {
+                cellRenderers[i] = columns.get(i).getCellRenderer();
+                cellToBuilder[i] = isBuilderRenderer(cellRenderers[i], HtmlCellRenderer.class);
+            }
+        }
+
+        private static boolean isBuilderRenderer(Object renderer, Class<?> htmlRendererType) {
+		
+            return htmlRendererType.isInstance(renderer)
+                && HtmlUtils.isBuilderMethod(renderer.getClass(), "render", Object.class, int.class);
+        }
+
+        void render(Object item, int rowcount, int cellRowcount, HtmlBuilder html) {
+		
+            if (rowToBuilder) {
+                ((HtmlRowRenderer) rowRenderer).render(item, rowcount, html);
+            } else {
+                html.append(rowRenderer.render(item, rowcount));
+            }
+
+            for (int i = 0; i < cellRenderers.length; i++) {
+                if (cellToBuilder[i]) {
+                    ((HtmlCellRenderer) cellRenderers[i]).render(item, cellRowcount, html);
+                } else {
+                    html.append(cellRenderers[i].render(item, cellRowcount));
+                }
+            }
+
+            html.trEnd(1);
+        }
+    }
 }
@@ -15,7 +15,9 @@
  */
 package org.jmesa.view.html;
 
+import org.apache.commons.lang.StringEscapeUtils;
 import org.jmesa.core.CoreContext;
+import org.jmesa.util.MethodUtils;
 import org.jmesa.web.WebContext;
 
 /**
@@ -24,6 +26,11 @@ import org.jmesa.web.WebContext;
  */
 public class HtmlUtils {
 		
+    /**
+     * The named html entities by character. The highest character with a name is 0x2666.
+     */
+    private static final String[] ENTITIES = createEntities(0x2667);
+
     private HtmlUtils() {}
 
     public static boolean isFirstPageEnabled(int page) {
@@ -134,4 +141,144 @@ public class HtmlUtils {
 
         return contextPath + imagesPath;
     }
+
+    /**
+     * <p>
+     * Find out if the html can be rendered into a shared HtmlBuilder. The method that takes an
+     * HtmlBuilder as the last parameter needs to be declared in the same class as the method that
+     * returns the html, or a subclass of it. That way a subclass that only overrides the method
+     * that returns the html is still used the way it was written.
+     * </p>
+     * 
+     * @since 4.1
+     * @param type The class of the object that renders the html.
+     * @param methodName The name of the method that returns the html.
+     * @param parameterTypes The parameter types of the method that returns the html.
+     * @return Is true if the method that takes the HtmlBuilder can be used.
+     */
+    public static boolean isBuilderMethod(Class<?> type, String methodName, Class<?>... parameterTypes) {
+		
+        return MethodUtils.isOverloadUsed(type, methodName, HtmlBuilder.class, parameterTypes);
+    }
+
+    /**
+     * <p>
+     * Escape the html the same way as the StringEscapeUtils.escapeHtml() method. The value is
+     * first scanned for characters that need to be escaped, and if there are none then the same
+     * value is returned.
+     * </p>
+     * 
+     * @since 4.1
+     * @param value The value to escape.
+     * @return The escaped value, or the same value if nothing needs to be escaped.
+     */
+    public static String escapeHtml(String value) {
+		
+        if (value == null || indexOfHtmlEscape(value, 0) == -1) {
+            return value;
+        }
+
+        return StringEscapeUtils.escapeHtml(value);
+    }
+
+    /**
+     * Escape the html right into the HtmlBuilder. Only the characters that need to be escaped
+     * are replaced, and the rest of the value is appended as is.
+     * 
+     * @since 4.1
+     * @param value The value to escape.
+     * @param html The HtmlBuilder to append the escaped value to.
+     */
+    public static void escapeHtml(String value, HtmlBuilder html) {
+		
+        if (value == null) {
+            return;
+        }
+
+        int start = 0;
+        int index = indexOfHtmlEscape(value, 0);
+        while (index != -1) {
+            html.append(value, start, index);
+
+            char c = value.charAt(index);
+            switch (c) {
+                case '"':
+                    html.append("&quot;");
+                    break;
+                case '&':
+                    html.append("&amp;");
+                    break;
+                case '<':
+                    html.append("&lt;");
+                    break;
+                case '>':
+                    html.append("&gt;");
+                    break;
+                default:
+                    if (c < ENTITIES.length && ENTITIES[c] != null) {
+                        html.append(ENTITIES[c]);
+                    } else {
+                        html.append("&#").append(Integer.valueOf(c)).append(";");
+                    }
+            }
+
+            start = index + 1;
+            index = indexOfHtmlEscape(value, start);
+        }
+
+        html.append(value, start, value.length());
+    }
+
+    /**
+     * The commons-lang Entities class is not public, so the entity names are taken from the
+     * StringEscapeUtils once.
+     */
+    private static String[] createEntities(int size) {
+		
+        String[] entities = new String[size];
+        for (char c = 0x80; c < size; c++) {
+            String entity = StringEscapeUtils.escapeHtml(String.valueOf(c));
+            if (!entity.startsWith("&#")) {
+                entities[c] = entity;
+            }
+        }
+
+        return entities;
+    }
+
+    private static int indexOfHtmlEscape(String value, int from) {
+		
+        for (int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > 0x7F || c == '"' || c == '&' || c == '<' || c == '>') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Escape the JavaScript the same way as the StringEscapeUtils.escapeJavaScript() method. If
+     * nothing needs to be escaped then the same value is returned.
+     * 
+     * @since 4.1
+     * @param value The value to escape.
+     * @return The escaped value, or the same value if nothing needs to be escaped.
+     */
+    public static String escapeJavaScript(String value) {
+		
+        if (value == null) {
+            return null;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 32 || c > 0x7E || c == '\'' || c == '"' || c == '\\' || c == '/') {
+                return StringEscapeUtils.escapeJavaScript(value);
+            }
+        }
+
+        return value;
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.jmesa.view.html;
 
+import java.io.Writer;
+
 /**
  * Default html view.
  * 
@@ -26,9 +28,42 @@ public class HtmlView extends AbstractHtmlView {
     @Override
     public Object render() {
 		
-        HtmlSnippets snippets = getHtmlSnippets();
-
         HtmlBuilder html = new HtmlBuilder();
+        render(html);
+        return html.toString();
+    }
+
+    /**
+     * Stream the table to the Writer instead of building up the whole table as a String first.
+     * If a subclass only overrides the render() method then the html that it returns is written
+     * out instead.
+     *
+     * @since 4.1
+     * @param writer The Writer, such as the response Writer, to write the table to.
+     */
+    public void render(Writer writer) {
+		
+        HtmlBuilder html = new HtmlBuilder(writer);
+
+        if (HtmlUtils.isBuilderMethod(getClass(), "render")) {
+            render(html);
+        } else {
+            html.append(render());
+        }
+
+        html.flush();
+    }
+
+    /**
+     * Render the table into the HtmlBuilder. All the snippets are rendered into the same
+     * HtmlBuilder.
+     *
+     * @since 4.1
+     * @param html The HtmlBuilder to render the table into.
+     */
+    public void render(HtmlBuilder html) {
+		
+        HtmlSnippets snippets = getHtmlSnippets();
 
         html.append(snippets.themeStart());
 
@@ -46,7 +81,11 @@ public class HtmlView extends AbstractHtmlView {
 
         html.append(snippets.tbodyStart());
 
-        html.append(snippets.body());
+        if (HtmlUtils.isBuilderMethod(snippets.getClass(), "body")) {
+            snippets.body(html);
+        } else {
+            html.append(snippets.body());
+        }
 
         html.append(snippets.tbodyEnd());
 
@@ -59,7 +98,5 @@ public class HtmlView extends AbstractHtmlView {
         html.append(snippets.themeEnd());
 
         html.append(snippets.hiddenFields());
-
-        return html.toString();
     }
 }
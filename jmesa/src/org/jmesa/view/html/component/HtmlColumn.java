@@ -56,6 +56,7 @@ public class HtmlColumn extends Column {
     private String headerClass;
     private String filterStyle;
     private String filterClass;
+    private Class<?> propertyType;
 
     /*
      * Store locally because the super class
@@ -234,6 +235,36 @@ public class HtmlColumn extends Column {
 		return this;
 	}
 
+    /**
+     * @return The declared type of the property, or null if the type is found from the items.
+     * @since 4.1
+     */
+    public Class<?> getPropertyType() {
+		
+        return propertyType;
+    }
+
+    /**
+     * Declare the type of the property. The FilterMatcher and the column sort then use this type
+     * instead of finding it from the items, which is useful for a Collection of Maps.
+     *
+     * @param propertyType The type of the property.
+     * @since 4.1
+     */
+    public void setPropertyType(Class<?> propertyType) {
+		
+        this.propertyType = propertyType;
+    }
+
+    /**
+     * @since 4.1
+     */
+    public HtmlColumn propertyType(Class<?> propertyType) {
+		
+        setPropertyType(propertyType);
+        return this;
+    }
+
     /**
      * @return Is true if generated on the fly through the api.
      */
@@ -15,32 +15,56 @@
  */
 package org.jmesa.view.html.editor;
 
-import static org.apache.commons.lang.StringEscapeUtils.escapeHtml;
-import static org.apache.commons.lang.StringEscapeUtils.escapeJavaScript;
+import static org.jmesa.view.html.HtmlUtils.escapeHtml;
+import static org.jmesa.view.html.HtmlUtils.escapeJavaScript;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.jmesa.limit.Filter;
 import org.jmesa.limit.Limit;
 import org.jmesa.util.ItemUtils;
+import org.jmesa.util.PreferencesUtils;
 import org.jmesa.view.editor.AbstractFilterEditor;
 import org.jmesa.view.html.HtmlBuilder;
+import org.jmesa.view.html.HtmlConstants;
 import org.jmesa.view.html.component.HtmlColumn;
+import org.jmesa.web.WebContext;
+import org.jmesa.web.WebContextUtils;
+import org.jmesa.web.WebContextUtils.ApplicationAttributeFactory;
 
 /**
+ * <p>
  * Create a droplist for the filter.
+ * </p>
+ *
+ * <p>
+ * When the options are taken from the items and the items have a data version, the options are
+ * kept in the application scope by table id, property and data version. Then the items only need
+ * to be read the first time the droplist is rendered for that version. A column with more
+ * distinct values than the maxOptions preference is not kept.
+ * </p>
+ *
+ * <p>
+ * The options are shared by all the users of the application, just like the items cache. If the
+ * items of a table are different for each user then the data version needs to tell them apart.
+ * </p>
  * 
  * @since 2.2
  * @author Jeff Johnston
  */
 public class DroplistFilterEditor extends AbstractFilterEditor {
         
+    private static final String OPTIONS_CACHE_ATTR = "jmesa.droplistOptions";
+
     private Set<Option> options;
     
     @Override
@@ -123,28 +147,44 @@ public class DroplistFilterEditor extends AbstractFilterEditor {
         List<Option> opts;
 
         if (this.options == null) {
-            opts = new ArrayList<Option>();
-            opts.add(new Option("", ""));
-            
-            Set<String> values = new HashSet<String>();
-            String property = getColumn().getProperty();
-            for (Object item : getCoreContext().getAllItems()) {
-                Object value = ItemUtils.getItemValue(item, property);
-                if (value == null) {
-                    continue;
-                }
-                String valueStr = String.valueOf(value);
-                if (valueStr.length() == 0) {
-                    continue;
-                }
-                values.add(valueStr);
-            }
-            for (String value : values) {
-                Option option = new Option(value, value);
-                opts.add(option);
+            opts = getCachedOptions();
+            if (opts == null) {
+                opts = getItemOptions();
+                putCachedOptions(opts);
             }
+            opts = new ArrayList<Option>(opts);
         } else {
             opts = new ArrayList<Option>(this.options);
+            Collections.sort(opts, null);
+        }
+
+        return opts;
+    }
+
+    /**
+     * @return The sorted unique options of the values of the column in all the items.
+     */
+    private List<Option> getItemOptions() {
+        
+        List<Option> opts = new ArrayList<Option>();
+        opts.add(new Option("", ""));
+
+        Set<String> values = new HashSet<String>();
+        String property = getColumn().getProperty();
+        for (Object item : getCoreContext().getAllItems()) {
+            Object value = ItemUtils.getItemValue(item, property);
+            if (value == null) {
+                continue;
+            }
+            String valueStr = String.valueOf(value);
+            if (valueStr.length() == 0) {
+                continue;
+            }
+            values.add(valueStr);
+        }
+        for (String value : values) {
+            Option option = new Option(value, value);
+            opts.add(option);
         }
 
         Collections.sort(opts, null);
@@ -152,6 +192,82 @@ public class DroplistFilterEditor extends AbstractFilterEditor {
         return opts;
     }
 
+    private List<Option> getCachedOptions() {
+        
+        OptionsCache cache = getOptionsCache();
+        if (cache == null) {
+            return null;
+        }
+
+        synchronized (cache) {
+            return cache.get(getOptionsKey());
+        }
+    }
+
+    private void putCachedOptions(List<Option> opts) {
+        
+        OptionsCache cache = getOptionsCache();
+        if (cache == null) {
+            return;
+        }
+
+        int maxOptions = PreferencesUtils.getIntPreference(getCoreContext().getPreferences(), HtmlConstants.DROPLIST_CACHE_MAX_OPTIONS, 1000);
+        if (opts.size() > maxOptions) {
+            return;
+        }
+
+        synchronized (cache) {
+            cache.put(getOptionsKey(), Collections.unmodifiableList(opts));
+        }
+    }
+
+    private List<Object> getOptionsKey() {
+        
+        return Arrays.<Object>asList(getCoreContext().getLimit().getId(), getColumn().getProperty(), getCoreContext().getDataVersion());
+    }
+
+    /**
+     * @return The options cache, or null if the items do not have a data version.
+     */
+    private OptionsCache getOptionsCache() {
+        
+        WebContext webContext = getWebContext();
+        if (webContext == null || getCoreContext().getDataVersion() == null) {
+            return null;
+        }
+
+        return WebContextUtils.getApplicationAttribute(webContext, OPTIONS_CACHE_ATTR, OptionsCache.class,
+            new ApplicationAttributeFactory<OptionsCache>() {
+                @Override
+                public OptionsCache create() {
+        
+                    return new OptionsCache(PreferencesUtils.getIntPreference(getCoreContext().getPreferences(), HtmlConstants.DROPLIST_CACHE_MAX_ENTRIES, 100));
+                }
+            });
+    }
+
+    /**
+     * The most recently used option lists.
+     */
+    private static class OptionsCache extends LinkedHashMap<List<Object>, List<Option>> {
+        
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        OptionsCache(int maxEntries) {
+        
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, List<Option>> eldest) {
+        
+            return size() > maxEntries;
+        }
+    }
+
     /**
      * Represents an Html Select Option.
      */
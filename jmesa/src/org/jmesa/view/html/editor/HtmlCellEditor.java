@@ -16,7 +16,7 @@
 package org.jmesa.view.html.editor;
 
 import org.jmesa.view.editor.*;
-import static org.apache.commons.lang.StringEscapeUtils.escapeHtml;
+import static org.jmesa.view.html.HtmlUtils.escapeHtml;
 import org.jmesa.util.ItemUtils;
 
 /**
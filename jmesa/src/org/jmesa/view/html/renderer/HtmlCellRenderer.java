@@ -15,17 +15,31 @@
  */
 package org.jmesa.view.html.renderer;
 
+import org.jmesa.core.CoreContext;
+import org.jmesa.limit.Limit;
+import org.jmesa.util.ItemUtils;
+import org.jmesa.view.editor.CellEditor;
 import org.jmesa.view.html.HtmlBuilder;
+import org.jmesa.view.html.HtmlUtils;
 import static org.jmesa.view.html.HtmlConstants.CELL_RENDERER_INCLUDE_ID;
 import org.jmesa.view.html.component.HtmlColumn;
+import org.jmesa.view.html.editor.HtmlCellEditor;
 import org.jmesa.view.renderer.AbstractCellRenderer;
 
 /**
+ * <p>
+ * The static markup of the cell, which is everything but the row count in the id and the value,
+ * is only built once for the column and then reused for every row. It is built again if the
+ * column, the CoreContext or the Limit changes.
+ * </p>
+ *
  * @since 2.0
  * @author Jeff Johnston
  */
 public class HtmlCellRenderer extends AbstractCellRenderer {
 		
+    private CellTemplate template;
+
     @Override
     public HtmlColumn getColumn() {
 		
@@ -47,25 +61,157 @@ public class HtmlCellRenderer extends AbstractCellRenderer {
     public Object render(Object item, int rowcount) {
 		
         HtmlBuilder html = new HtmlBuilder();
+        render(item, rowcount, html);
+        return html.toString();
+    }
 
+    /**
+     * Render the cell into the HtmlBuilder that is shared by the whole table.
+     *
+     * @since 4.1
+     * @param item The bean or map for the current row.
+     * @param rowcount The current row count.
+     * @param html The HtmlBuilder to render the cell into.
+     */
+    public void render(Object item, int rowcount, HtmlBuilder html) {
+		
         HtmlColumn column = getColumn();
-        
-        html.td(2).id(getId(rowcount));
-        html.width(getColumn().getWidth());
-        html.style(column.getStyle());
-        html.styleClass(column.getStyleClass());
-        html.close();
-
-        String property = getColumn().getProperty();
-        Object value = column.getCellEditor().getValue(item, property, rowcount);
-        if (value != null) {
-            html.append(value.toString());
+
+        CellTemplate cellTemplate = getTemplate();
+        if (cellTemplate != null) {
+            cellTemplate.render(rowcount, html);
         } else {
-            html.nbsp();
+            html.td(2).id(getId(rowcount));
+            html.width(column.getWidth());
+            html.style(column.getStyle());
+            html.styleClass(column.getStyleClass());
+            html.close();
+        }
+
+        String property = column.getProperty();
+        CellEditor cellEditor = column.getCellEditor();
+        if (cellEditor.getClass() == HtmlCellEditor.class) {
+            // escape the value right into the html
+            Object itemValue = ItemUtils.getItemValue(item, property);
+            if (itemValue != null) {
+                HtmlUtils.escapeHtml(itemValue.toString(), html);
+            } else {
+                html.nbsp();
+            }
+        } else {
+            Object value = cellEditor.getValue(item, property, rowcount);
+            if (value != null) {
+                html.append(value.toString());
+            } else {
+                html.nbsp();
+            }
         }
 
         html.tdEnd();
+    }
 
-        return html.toString();
+    /**
+     * @return The template for the static markup, or null if a subclass overrides the getId()
+     *         method.
+     */
+    private CellTemplate getTemplate() {
+		
+        CellTemplate cellTemplate = template;
+        if (cellTemplate == null || !cellTemplate.isFor(getCoreContext(), getColumn())) {
+            cellTemplate = createTemplate();
+            this.template = cellTemplate;
+        }
+
+        if (cellTemplate.idOverridden) {
+            return null;
+        }
+
+        return cellTemplate;
+    }
+
+    private CellTemplate createTemplate() {
+		
+        CoreContext coreContext = getCoreContext();
+        HtmlColumn column = getColumn();
+
+        boolean includeId = !"false".equals(coreContext.getPreference(CELL_RENDERER_INCLUDE_ID));
+
+        String idStart = null;
+        if (includeId) {
+            String id = coreContext.getLimit().getId() + "_column_" + column.getProperty() + "_";
+            idStart = " id=\"" + id.replace('.', '_');
+        }
+
+        HtmlBuilder end = new HtmlBuilder();
+        end.width(column.getWidth());
+        end.style(column.getStyle());
+        end.styleClass(column.getStyleClass());
+        end.close();
+
+        return new CellTemplate(coreContext, column, idStart, end.toString(), isIdOverridden());
+    }
+
+    private boolean isIdOverridden() {
+		
+        for (Class<?> type = getClass(); type != HtmlCellRenderer.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("getId", int.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // keep looking in the superclass
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The static markup of the cell and what it was built from.
+     */
+    private static class CellTemplate {
+		
+        private static final String START = new HtmlBuilder().td(2).toString();
+        private static final String ID_END = "\" ";
+
+        private final CoreContext coreContext;
+        private final Limit limit;
+        private final HtmlColumn column;
+        private final String width;
+        private final String style;
+        private final String styleClass;
+        private final String property;
+        private final String idStart;
+        private final String end;
+        private final boolean idOverridden;
+
+        CellTemplate(CoreContext coreContext, HtmlColumn column, String idStart, String end, boolean idOverridden) {
+		
+            this.coreContext = coreContext;
+            this.limit = coreContext.getLimit();
+            this.column = column;
+            this.width = column.getWidth();
+            this.style = column.getStyle();
+            this.styleClass = column.getStyleClass();
+            this.property = column.getProperty();
+            this.idStart = idStart;
+            this.end = end;
+            this.idOverridden = idOverridden;
+        }
+
+        boolean isFor(CoreContext context, HtmlColumn htmlColumn) {
+		
+            return coreContext == context && limit == context.getLimit() && column == htmlColumn
+                && width == htmlColumn.getWidth() && style == htmlColumn.getStyle()
+                && styleClass == htmlColumn.getStyleClass() && property == htmlColumn.getProperty();
+        }
+
+        void render(int rowcount, HtmlBuilder html) {
+		
+            html.append(START);
+            if (idStart != null) {
+                html.append(idStart).append(rowcount).append(ID_END);
+            }
+            html.append(end);
+        }
     }
 }
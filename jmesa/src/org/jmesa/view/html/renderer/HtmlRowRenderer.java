@@ -16,6 +16,8 @@
 package org.jmesa.view.html.renderer;
 
 import org.apache.commons.lang.StringUtils;
+import org.jmesa.core.CoreContext;
+import org.jmesa.limit.Limit;
 import org.jmesa.view.ViewUtils;
 import org.jmesa.view.html.HtmlBuilder;
 import org.jmesa.view.html.HtmlConstants;
@@ -34,6 +36,8 @@ import static org.jmesa.worksheet.WorksheetUtils.getRowError;
  */
 public class HtmlRowRenderer extends AbstractRowRenderer {
 		
+    private RowTemplate template;
+
     @Override
     public HtmlRow getRow() {
 		
@@ -118,12 +122,25 @@ public class HtmlRowRenderer extends AbstractRowRenderer {
     public Object render(Object item, int rowcount) {
 		
         HtmlBuilder html = new HtmlBuilder();
-        html.tr(1);
+        render(item, rowcount, html);
+        return html.toString();
+    }
 
+    /**
+     * Render the start of the row into the HtmlBuilder that is shared by the whole table.
+     *
+     * @since 4.1
+     * @param item The bean or map for the current row.
+     * @param rowcount The current row count.
+     * @param html The HtmlBuilder to render the row into.
+     */
+    public void render(Object item, int rowcount, HtmlBuilder html) {
+		
         Worksheet worksheet = getCoreContext().getWorksheet();
         HtmlRow row = getRow();
-        html.id(getCoreContext().getLimit().getId() + "_row" + rowcount);
-        html.style(getRow().getStyle());
+
+        html.append(getTemplate().start).append(rowcount).append(RowTemplate.ID_END);
+        html.style(row.getStyle());
         html.styleClass(getStyleClass(item, rowcount));
 
         html.append(getRowEvents(item, rowcount));
@@ -133,7 +150,40 @@ public class HtmlRowRenderer extends AbstractRowRenderer {
         }
 
         html.close();
+    }
 
-        return html.toString();
+    private RowTemplate getTemplate() {
+		
+        RowTemplate rowTemplate = template;
+        if (rowTemplate == null || !rowTemplate.isFor(getCoreContext())) {
+            rowTemplate = new RowTemplate(getCoreContext());
+            this.template = rowTemplate;
+        }
+
+        return rowTemplate;
+    }
+
+    /**
+     * The start of the row, up to the row count in the id, and what it was built from.
+     */
+    private static class RowTemplate {
+		
+        private static final String ID_END = "\" ";
+
+        private final CoreContext coreContext;
+        private final Limit limit;
+        private final String start;
+
+        RowTemplate(CoreContext coreContext) {
+		
+            this.coreContext = coreContext;
+            this.limit = coreContext.getLimit();
+            this.start = new HtmlBuilder().tr(1).append(" id=\"").append(limit.getId()).append("_row").toString();
+        }
+
+        boolean isFor(CoreContext context) {
+		
+            return coreContext == context && limit == context.getLimit();
+        }
     }
 }
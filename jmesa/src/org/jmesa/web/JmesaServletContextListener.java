@@ -0,0 +1,54 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.web;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import org.jmesa.util.ClassCache;
+import org.jmesa.util.ParallelUtils;
+
+/**
+ * <p>
+ * Releases what JMesa keeps for the whole application when the web application is stopped. This
+ * is needed when the JMesa jar is shared by web applications, such as in the lib directory of the
+ * container, so that a redeployed web application can be unloaded. Register it in the web.xml:
+ * </p>
+ *
+ * <pre>
+ * &lt;listener&gt;
+ *     &lt;listener-class&gt;org.jmesa.web.JmesaServletContextListener&lt;/listener-class&gt;
+ * &lt;/listener&gt;
+ * </pre>
+ *
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class JmesaServletContextListener implements ServletContextListener {
+		
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+		
+        // nothing to set up
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+		
+        ClassCache.clearAll();
+        ParallelUtils.shutdown();
+    }
+}
@@ -23,6 +23,8 @@ import java.util.List;
  */
 public class WebContextUtils {
 		
+    private static final Object APPLICATION_ATTRIBUTE_LOCK = new Object();
+
     /**
      * The value needs to be a String[]. A String, Null, or List will be
      * converted to a String[]. In addition it will attempt to do a String
@@ -47,4 +49,65 @@ public class WebContextUtils {
 
         return new String[] { value.toString() };
     }
+
+    /**
+     * Get a value that is created once and then kept in the application scope. The value is only
+     * created by one request at a time, so all the requests get the same value.
+     *
+     * @param webContext The web context.
+     * @param name The application attribute name.
+     * @param type The type of the value.
+     * @param factory Creates the value when it is not in the application scope yet.
+     * @return The value in the application scope.
+     * @since 4.1
+     */
+    public static <T> T getApplicationAttribute(WebContext webContext, String name, Class<T> type, ApplicationAttributeFactory<T> factory) {
+		
+        T value = getCurrentApplicationAttribute(webContext, name, type, factory);
+        if (value != null) {
+            return value;
+        }
+
+        synchronized (APPLICATION_ATTRIBUTE_LOCK) {
+            value = getCurrentApplicationAttribute(webContext, name, type, factory);
+            if (value == null) {
+                value = factory.create();
+                webContext.setApplicationAttribute(name, value);
+            }
+
+            return value;
+        }
+    }
+
+    private static <T> T getCurrentApplicationAttribute(WebContext webContext, String name, Class<T> type, ApplicationAttributeFactory<T> factory) {
+		
+        Object value = webContext.getApplicationAttribute(name);
+        if (type.isInstance(value) && factory.isCurrent(type.cast(value))) {
+            return type.cast(value);
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a value that is kept in the application scope.
+     *
+     * @since 4.1
+     */
+    public abstract static class ApplicationAttributeFactory<T> {
+		
+        /**
+         * @return The value to keep in the application scope.
+         */
+        public abstract T create();
+
+        /**
+         * @param value The value in the application scope.
+         * @return Is true if the value can still be used, otherwise it is created again.
+         */
+        public boolean isCurrent(T value) {
+		
+            return true;
+        }
+    }
 }
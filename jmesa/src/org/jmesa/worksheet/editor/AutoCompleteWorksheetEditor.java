@@ -15,7 +15,7 @@
  */
 package org.jmesa.worksheet.editor;
 
-import static org.apache.commons.lang.StringEscapeUtils.escapeJavaScript;
+import static org.jmesa.view.html.HtmlUtils.escapeJavaScript;
 import org.jmesa.view.html.HtmlBuilder;
 import org.jmesa.worksheet.WorksheetColumn;
 
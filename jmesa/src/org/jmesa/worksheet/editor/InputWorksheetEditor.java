@@ -15,8 +15,8 @@
  */
 package org.jmesa.worksheet.editor;
 
-import static org.apache.commons.lang.StringEscapeUtils.escapeHtml;
-import static org.apache.commons.lang.StringEscapeUtils.escapeJavaScript;
+import static org.jmesa.view.html.HtmlUtils.escapeHtml;
+import static org.jmesa.view.html.HtmlUtils.escapeJavaScript;
 import org.jmesa.limit.Limit;
 import org.jmesa.view.html.HtmlBuilder;
 import org.jmesa.worksheet.UniqueProperty;
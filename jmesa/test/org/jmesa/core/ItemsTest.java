@@ -0,0 +1,287 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jmesa.core.filter.DefaultRowFilter;
+import org.jmesa.core.filter.FilterMatcherRegistry;
+import org.jmesa.core.filter.MatcherKey;
+import org.jmesa.core.filter.SimpleRowFilter;
+import org.jmesa.core.filter.StringFilterMatcher;
+import org.jmesa.core.sort.ColumnSort;
+import org.jmesa.core.sort.MultiColumnSort;
+import org.jmesa.limit.Limit;
+import org.jmesa.limit.LimitFactory;
+import org.jmesa.limit.Order;
+import org.jmesa.limit.RowSelect;
+import org.jmesa.model.ChunkedItems;
+import org.jmesa.model.ChunkedItemsCollection;
+import org.jmesa.test.AbstractTestCase;
+import org.jmesa.test.ParametersAdapter;
+import org.jmesa.test.ParametersBuilder;
+import org.jmesa.web.WebContext;
+import org.junit.Test;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ItemsTest extends AbstractTestCase {
+		
+    @Test
+    public void readOnlyViewWithoutSort() {
+		
+        List<President> presidents = new ArrayList<President>(PresidentDao.getPresidents());
+
+        Limit limit = createLimit(new HashMap<String, Object>(), presidents.size());
+
+        Items items = new Items(presidents, limit, new DefaultRowFilter(), new MultiColumnSort(), true);
+
+        assertEquals(presidents.size(), items.getAllItems().size());
+        assertEquals(MAX_ROWS, items.getPageItems().size());
+        assertSame(presidents.get(0), items.getPageItems().iterator().next());
+    }
+
+    @Test
+    public void readOnlyViewWithSort() {
+		
+        List<President> presidents = new ArrayList<President>(PresidentDao.getPresidents());
+        President firstPresident = presidents.get(0);
+
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addSort("name.firstName", Order.ASC);
+        Limit limit = createLimit(results, presidents.size());
+
+        Items items = new Items(presidents, limit, new DefaultRowFilter(), new MultiColumnSort(), true);
+
+        assertSame("the source items should not be sorted", firstPresident, presidents.get(0));
+
+        Iterator<?> iterator = items.getPageItems().iterator();
+        President first = (President) iterator.next();
+        assertEquals("Abraham", first.getName().getFirstName());
+    }
+
+    @Test
+    public void streamedItems() {
+		
+        final List<President> presidents = new ArrayList<President>(PresidentDao.getPresidents());
+        final List<Integer> chunkStarts = new ArrayList<Integer>();
+
+        ChunkedItems chunkedItems = new ChunkedItems() {
+
+            @Override
+            public int getTotalRows(Limit limit) {
+		
+                return presidents.size();
+            }
+
+            @Override
+            public Collection<?> getItems(Limit limit, int rowStart, int rowEnd) {
+		
+                chunkStarts.add(rowStart);
+                return presidents.subList(rowStart, rowEnd);
+            }
+        };
+
+        Limit limit = createLimit(new HashMap<String, Object>(), presidents.size());
+        ChunkedItemsCollection chunks = new ChunkedItemsCollection(chunkedItems, limit, presidents.size(), 10);
+
+        Items items = new Items(chunks, limit, new DefaultRowFilter(), new MultiColumnSort(), false);
+
+        assertSame("streamed items should not be copied", chunks, items.getPageItems());
+        assertEquals("nothing should be read until the items are iterated", 0, chunkStarts.size());
+
+        List<Object> rows = new ArrayList<Object>(items.getPageItems());
+
+        assertEquals(presidents, rows);
+        assertEquals((presidents.size() + 9) / 10, chunkStarts.size());
+        assertEquals(Integer.valueOf(10), chunkStarts.get(1));
+    }
+
+    @Test
+    public void cachedItems() {
+		
+        List<President> presidents = new ArrayList<President>(PresidentDao.getPresidents());
+
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addSort("name.firstName", Order.ASC);
+
+        ItemsCache itemsCache = new ItemsCache(10, 1000, 0);
+
+        Limit limit = createLimit(results, presidents.size());
+        Items items = new Items(presidents, limit, new DefaultRowFilter(), new MultiColumnSort(), false, itemsCache, "1");
+
+        assertNotNull(itemsCache.get(ItemsCache.createKey(limit, "1", presidents.size())));
+
+        ColumnSort failingSort = new ColumnSort() {
+
+            @Override
+            public Collection<?> sortItems(Collection<?> items, Limit limit) {
+		
+                throw new IllegalStateException("the cached rows should be used");
+            }
+        };
+
+        Limit cachedLimit = createLimit(results, presidents.size());
+        Items cachedItems = new Items(presidents, cachedLimit, new DefaultRowFilter(), failingSort, false, itemsCache, "1");
+
+        assertEquals(new ArrayList<Object>(items.getPageItems()), new ArrayList<Object>(cachedItems.getPageItems()));
+
+        assertNull("another data version should not be cached", itemsCache.get(ItemsCache.createKey(limit, "2", presidents.size())));
+    }
+
+    @Test
+    public void cachedItemsWithOtherItemCount() {
+		
+        List<President> presidents = new ArrayList<President>(PresidentDao.getPresidents());
+
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addSort("name.firstName", Order.ASC);
+
+        ItemsCache itemsCache = new ItemsCache(10, 1000, 0);
+
+        new Items(presidents, createLimit(results, presidents.size()), new DefaultRowFilter(), new MultiColumnSort(), false, itemsCache, "1");
+
+        List<President> fewerPresidents = presidents.subList(0, 5);
+        Limit limit = createLimit(results, fewerPresidents.size());
+        Items items = new Items(fewerPresidents, limit, new DefaultRowFilter(), new MultiColumnSort(), false, itemsCache, "1");
+
+        assertEquals("the rows of the other items should not be used", 5, items.getSortedItems().size());
+        assertTrue(items.getSortedItems().containsAll(fewerPresidents));
+    }
+
+    @Test
+    public void refinedFilter() {
+		
+        List<President> presidents = new ArrayList<President>(PresidentDao.getPresidents());
+        ItemsCache itemsCache = new ItemsCache(10, 1000, 0);
+
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(String.class), new StringFilterMatcher());
+
+        final List<Integer> filteredSizes = new ArrayList<Integer>();
+        SimpleRowFilter rowFilter = new SimpleRowFilter() {
+
+            @Override
+            public Collection<?> filterItems(Collection<?> items, Limit limit) {
+		
+                filteredSizes.add(items.size());
+                return super.filterItems(items, limit);
+            }
+        };
+        rowFilter.setFilterMatcherRegistry(registry);
+
+        Items items = new Items(presidents, createFilterLimit("ja", presidents.size()), rowFilter, new MultiColumnSort(), false, itemsCache, "1");
+        int previousSize = items.getFilteredItems().size();
+
+        Items refinedItems = new Items(presidents, createFilterLimit("jam", presidents.size()), rowFilter, new MultiColumnSort(), false, itemsCache, "1");
+
+        assertEquals(Integer.valueOf(presidents.size()), filteredSizes.get(0));
+        assertEquals("only the last filtered rows should be filtered", Integer.valueOf(previousSize), filteredSizes.get(1));
+
+        for (Object item : refinedItems.getFilteredItems()) {
+            assertTrue(((President) item).getName().getFirstName().toLowerCase().contains("jam"));
+        }
+    }
+
+    @Test
+    public void itemsCachePartiallySorted() {
+		
+        ItemsCache itemsCache = new ItemsCache(2, 10, 0);
+
+        itemsCache.put("a", new int[8], 2);
+
+        assertNotNull(itemsCache.get("a", 2));
+        assertNull("the page is past the sorted rows", itemsCache.get("a", 3));
+    }
+
+    private Limit createFilterLimit(String firstName, int totalRows) {
+		
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addFilter("name.firstName", firstName);
+        return createLimit(results, totalRows);
+    }
+
+    @Test
+    public void itemsCacheKey() {
+		
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersBuilder builder = new ParametersBuilder(ID, new ParametersAdapter(results));
+        builder.addFilter("name.firstName", "a|s:term=ASC");
+        Limit filterLimit = createLimit(results, 10);
+
+        results = new HashMap<String, Object>();
+        builder = new ParametersBuilder(ID, new ParametersAdapter(results));
+        builder.addFilter("name.firstName", "a");
+        builder.addSort("term", Order.ASC);
+        Limit filterAndSortLimit = createLimit(results, 10);
+
+        assertFalse("the filter value should not look like a sort", ItemsCache.createKey(filterLimit, "1", 10).equals(ItemsCache.createKey(filterAndSortLimit, "1", 10)));
+        assertEquals(ItemsCache.createKey(filterLimit, "1", 10), ItemsCache.createKey(createFilterLimit("a|s:term=ASC", 10), "1", 10));
+    }
+
+    @Test
+    public void itemsCacheEviction() {
+		
+        ItemsCache itemsCache = new ItemsCache(2, 10, 0);
+
+        itemsCache.put("a", new int[4]);
+        itemsCache.put("b", new int[4]);
+        itemsCache.get("a");
+        itemsCache.put("c", new int[4]);
+
+        assertNotNull(itemsCache.get("a"));
+        assertNull("the least recently used rows should be removed", itemsCache.get("b"));
+        assertNotNull(itemsCache.get("c"));
+
+        itemsCache.put("d", new int[8]);
+
+        assertNull("the rows should be removed when there are too many", itemsCache.get("a"));
+        assertNull(itemsCache.get("c"));
+        assertNotNull(itemsCache.get("d"));
+    }
+
+    private Limit createLimit(HashMap<String, Object> parameters, int totalRows) {
+		
+        WebContext webContext = createWebContext();
+        webContext.setParameterMap(parameters);
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+        RowSelect rowSelect = limitFactory.createRowSelect(MAX_ROWS, totalRows);
+        limit.setRowSelect(rowSelect);
+        return limit;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.core.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jmesa.core.PresidentDao;
+import org.jmesa.core.filter.FilterMatcher;
+import org.jmesa.core.filter.FilterMatcherRegistry;
+import org.jmesa.core.filter.MatcherKey;
+import org.jmesa.core.filter.NumberFilterMatcher;
+import org.jmesa.core.filter.SimpleRowFilter;
+import org.jmesa.core.filter.StringFilterMatcher;
+import org.jmesa.core.filter.StringWildCardFilterMatcher;
+import org.jmesa.core.sort.MultiColumnSort;
+import org.jmesa.limit.Limit;
+import org.jmesa.limit.LimitFactory;
+import org.jmesa.limit.Order;
+import org.jmesa.test.AbstractTestCase;
+import org.jmesa.test.ParametersAdapter;
+import org.jmesa.test.ParametersBuilder;
+import org.jmesa.web.WebContext;
+import org.junit.Test;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ColumnarDatasetTest extends AbstractTestCase {
+		
+    @Test
+    public void filterItems() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(String.class), new StringFilterMatcher());
+
+        Map<String, Object> results = new HashMap<String, Object>();
+        ParametersBuilder builder = new ParametersBuilder(ID, new ParametersAdapter(results));
+        builder.addFilter("name.lastName", "son");
+        builder.addFilter("term", "18");
+        Limit limit = createLimit(results);
+
+        Collection<?> presidents = PresidentDao.getPresidents();
+        ColumnarDataset dataset = new ColumnarDataset(presidents, "name.lastName", "term");
+
+        SimpleRowFilter simpleFilter = new SimpleRowFilter();
+        simpleFilter.setFilterMatcherRegistry(registry);
+        Collection<?> expected = simpleFilter.filterItems(dataset.getRows(), limit);
+
+        ColumnarRowFilter columnarFilter = new ColumnarRowFilter(dataset);
+        columnarFilter.setFilterMatcherRegistry(registry);
+        Collection<?> filtered = columnarFilter.filterItems(dataset.getRows(), limit);
+
+        assertEquals(expected, filtered);
+
+        List<Object> subset = new ArrayList<Object>(dataset.getRows().subList(10, 30));
+        assertEquals("the rows should be found out of order", simpleFilter.filterItems(subset, limit),
+            columnarFilter.filterItems(subset, limit));
+    }
+
+    @Test
+    public void bitmapFilterItems() {
+		
+        final int[] lastNameMatches = new int[1];
+
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(String.class), new StringFilterMatcher());
+        registry.addFilterMatcher(new MatcherKey(String.class, "name.lastName"), new FilterMatcher() {
+
+            @Override
+            public boolean evaluate(Object itemValue, String filterValue) {
+		
+                lastNameMatches[0]++;
+                return itemValue.toString().toLowerCase().contains(filterValue);
+            }
+        });
+
+        Collection<?> presidents = PresidentDao.getPresidents();
+        ColumnarDataset dataset = new ColumnarDataset(presidents, "name.lastName", "term");
+
+        SimpleRowFilter simpleFilter = new SimpleRowFilter();
+        simpleFilter.setFilterMatcherRegistry(registry);
+
+        BitmapRowFilter bitmapFilter = new BitmapRowFilter(dataset);
+        bitmapFilter.setFilterMatcherRegistry(registry);
+
+        Limit limit = createFilterLimit("son", "18");
+        assertEquals(simpleFilter.filterItems(dataset.getRows(), limit), bitmapFilter.filterItems(dataset.getRows(), limit));
+
+        int matches = lastNameMatches[0];
+        assertTrue(matches > 0);
+
+        Limit changedLimit = createFilterLimit("son", "19");
+        List<Object> simpleRows = new ArrayList<Object>(simpleFilter.filterItems(dataset.getRows(), changedLimit));
+        int simpleMatches = lastNameMatches[0];
+
+        assertEquals(simpleRows, bitmapFilter.filterItems(dataset.getRows(), changedLimit));
+        assertEquals("the unchanged column filter should not be matched again", simpleMatches, lastNameMatches[0]);
+    }
+
+    @Test
+    public void trigramIndex() {
+		
+        TrigramIndex index = new TrigramIndex();
+        index.add(0, "Washington");
+        index.add(1, "Jefferson");
+        index.add(2, "Madison");
+
+        assertArrayEquals(new int[] {1, 2}, index.getCandidates(Arrays.asList("son", "o")));
+        assertNull("a literal without a trigram cannot narrow down the values", index.getCandidates(Arrays.asList("on")));
+        assertArrayEquals(new int[] {1}, index.getCandidates(Arrays.asList("JEFF")));
+
+        index.remove(1, "Jefferson");
+        assertArrayEquals(new int[0], index.getCandidates(Arrays.asList("jeff")));
+    }
+
+    @Test
+    public void trigramIndexFilterItems() {
+		
+        Collection<?> presidents = PresidentDao.getPresidents();
+        ColumnarDataset dataset = new ColumnarDataset(presidents, "name.lastName", "term");
+        dataset.createTrigramIndex("name.lastName");
+
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(String.class), new StringFilterMatcher());
+
+        assertIndexedFilter(dataset, registry, "son");
+        assertIndexedFilter(dataset, registry, "EFF");
+
+        FilterMatcherRegistry wildCardRegistry = new FilterMatcherRegistry();
+        wildCardRegistry.addFilterMatcher(new MatcherKey(String.class), new StringWildCardFilterMatcher());
+
+        assertIndexedFilter(dataset, wildCardRegistry, "*son");
+        assertIndexedFilter(dataset, wildCardRegistry, "J?ck*");
+        assertIndexedFilter(dataset, wildCardRegistry, "*ADI*");
+    }
+
+    private void assertIndexedFilter(ColumnarDataset dataset, FilterMatcherRegistry registry, String lastName) {
+		
+        Map<String, Object> results = new HashMap<String, Object>();
+        ParametersBuilder builder = new ParametersBuilder(ID, new ParametersAdapter(results));
+        builder.addFilter("name.lastName", lastName);
+        Limit limit = createLimit(results);
+
+        SimpleRowFilter simpleFilter = new SimpleRowFilter();
+        simpleFilter.setFilterMatcherRegistry(registry);
+        Collection<?> expected = simpleFilter.filterItems(dataset.getRows(), limit);
+
+        ColumnarRowFilter columnarFilter = new ColumnarRowFilter(dataset);
+        columnarFilter.setFilterMatcherRegistry(registry);
+
+        assertTrue(expected.size() > 0);
+        assertEquals(expected, columnarFilter.filterItems(dataset.getRows(), limit));
+    }
+
+    @Test
+    public void filterBitmapByMatcherClass() {
+		
+        ColumnarDataset dataset = new ColumnarDataset(PresidentDao.getPresidents(), "name.lastName", "salary");
+
+        assertSame("a matcher without fields should match by class", dataset.getFilterBitmap("name.lastName", new StringFilterMatcher(), "son"),
+            dataset.getFilterBitmap("name.lastName", new StringFilterMatcher(), "son"));
+
+        NumberFilterMatcher numberMatcher = new NumberFilterMatcher("#");
+        assertSame(dataset.getFilterBitmap("salary", numberMatcher, "4"), dataset.getFilterBitmap("salary", numberMatcher, "4"));
+        assertNotSame("a matcher with fields should match by instance", dataset.getFilterBitmap("salary", numberMatcher, "4"),
+            dataset.getFilterBitmap("salary", new NumberFilterMatcher("#"), "4"));
+    }
+
+    @Test
+    public void sortItems() {
+		
+        Map<String, Object> results = new HashMap<String, Object>();
+        ParametersBuilder builder = new ParametersBuilder(ID, new ParametersAdapter(results));
+        builder.addSort("politicalParty", Order.ASC);
+        builder.addSort("died", Order.DESC);
+        builder.addSort("name.lastName", Order.ASC);
+        Limit limit = createLimit(results);
+
+        Collection<?> presidents = PresidentDao.getPresidents();
+        ColumnarDataset dataset = new ColumnarDataset(presidents, "politicalParty", "died", "name.lastName");
+
+        List<Object> expected = new ArrayList<Object>(dataset.getRows());
+        new MultiColumnSort().sortItems(expected, limit);
+
+        List<Object> sorted = new ArrayList<Object>(dataset.getRows());
+        new ColumnarColumnSort(dataset).sortItems(sorted, limit);
+
+        assertEquals(expected, sorted);
+    }
+
+    private Limit createFilterLimit(String lastName, String term) {
+		
+        Map<String, Object> results = new HashMap<String, Object>();
+        ParametersBuilder builder = new ParametersBuilder(ID, new ParametersAdapter(results));
+        builder.addFilter("name.lastName", lastName);
+        builder.addFilter("term", term);
+        return createLimit(results);
+    }
+
+    private Limit createLimit(Map<String, Object> parameters) {
+		
+        WebContext webContext = createWebContext();
+        webContext.setParameterMap(parameters);
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        return limitFactory.createLimit();
+    }
+}
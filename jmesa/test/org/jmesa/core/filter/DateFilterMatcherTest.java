@@ -15,6 +15,7 @@
  */
 package org.jmesa.core.filter;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -22,6 +23,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import org.apache.commons.collections.Predicate;
 import org.jmesa.test.AbstractTestCase;
 import org.jmesa.web.WebContext;
 import org.junit.Test;
@@ -56,4 +58,39 @@ public class DateFilterMatcherTest extends AbstractTestCase {
         evaluate = matcher.evaluate(date, "/04/");
         assertTrue(evaluate);
     }
+
+    @Test
+    public void prepareTest() {
+		
+        WebContext webContext = createWebContext();
+        DateFilterMatcher matcher = new DateFilterMatcher("MM/dd/yyyy", webContext);
+
+        Date date = createDate(webContext);
+
+        Predicate predicate = FilterMatcherPredicate.prepare(matcher, "/04/");
+        assertTrue(predicate.evaluate(date));
+        assertFalse(FilterMatcherPredicate.prepare(matcher, "/05/").evaluate(date));
+
+        DateFilterMatcher evaluateMatcher = new DateFilterMatcher("MM/dd/yyyy", webContext) {
+            @Override
+            public boolean evaluate(Object itemValue, String filterValue) {
+		
+                return "any".equals(filterValue);
+            }
+        };
+
+        predicate = FilterMatcherPredicate.prepare(evaluateMatcher, "any");
+        assertEquals("a subclass that overrides evaluate should still be used", FilterMatcherPredicate.class, predicate.getClass());
+        assertTrue(predicate.evaluate(date));
+    }
+
+    private Date createDate(WebContext webContext) {
+		
+        try {
+            SimpleDateFormat simpleDateFormat = new SimpleDateFormat("MM/dd/yyyy", webContext.getLocale());
+            return simpleDateFormat.parse("07/04/2007");
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -16,6 +16,7 @@
 package org.jmesa.core.filter;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.sql.Timestamp;
@@ -88,4 +89,38 @@ public class FilterMatcherRegistryTest extends AbstractTestCase {
 			// pass
 		}
 	}
+
+    @Test
+    public void getMatchWithPrimitiveAndInterface() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        StringFilterMatcher objectMatcher = new StringFilterMatcher();
+        NumberFilterMatcher numberMatcher = new NumberFilterMatcher("#");
+        registry.addFilterMatcher(new MatcherKey(Object.class), objectMatcher);
+        registry.addFilterMatcher(new MatcherKey(Number.class), numberMatcher);
+
+        assertSame(numberMatcher, registry.getFilterMatcher(new MatcherKey(int.class)));
+        assertSame(objectMatcher, registry.getFilterMatcher(new MatcherKey(String.class)));
+
+        FilterMatcherRegistry copy = new FilterMatcherRegistry(registry);
+        StringFilterMatcher comparableMatcher = new StringFilterMatcher();
+        copy.addFilterMatcher(new MatcherKey(Comparable.class), comparableMatcher);
+
+        assertSame(comparableMatcher, copy.getFilterMatcher(new MatcherKey(String.class)));
+        assertSame("the copy should not change the registry", objectMatcher, registry.getFilterMatcher(new MatcherKey(String.class)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addFilterMatcherWithoutType() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(null), new StringFilterMatcher());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addFilterMatcherWithoutMatcher() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(String.class), null);
+    }
 }
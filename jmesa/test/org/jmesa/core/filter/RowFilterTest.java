@@ -15,16 +15,20 @@
  */
 package org.jmesa.core.filter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.jmesa.core.Name;
 import org.jmesa.core.President;
 import org.jmesa.core.PresidentDao;
+import org.jmesa.limit.FilterSet;
 import org.jmesa.limit.Limit;
 import org.jmesa.limit.LimitFactory;
 import org.jmesa.test.AbstractTestCase;
@@ -116,4 +120,207 @@ public class RowFilterTest extends AbstractTestCase {
 
         assertTrue(items.size() == 2);
     }
+
+    @Test
+    public void parallelFilterItems() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        MatcherKey key = new MatcherKey(String.class);
+        FilterMatcher match = new StringFilterMatcher();
+        registry.addFilterMatcher(key, match);
+
+        WebContext webContext = createWebContext();
+        
+        Map<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addFilter("name.lastName", "son");
+        webContext.setParameterMap(results);
+        
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+
+        List<President> items = new ArrayList<President>();
+        for (int i = 0; i < 10; i++) {
+            items.addAll(PresidentDao.getPresidents());
+        }
+
+        SimpleRowFilter simpleFilter = new SimpleRowFilter();
+        simpleFilter.setFilterMatcherRegistry(registry);
+        Collection<?> expected = simpleFilter.filterItems(items, limit);
+
+        ParallelRowFilter parallelFilter = new ParallelRowFilter(1);
+        parallelFilter.setFilterMatcherRegistry(registry);
+        Collection<?> filtered = parallelFilter.filterItems(items, limit);
+
+        assertEquals("the parallel filter order is wrong", expected, filtered);
+    }
+
+    @Test
+    public void isRefinement() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(String.class), new StringFilterMatcher());
+
+        SimpleRowFilter itemsFilter = new SimpleRowFilter();
+        itemsFilter.setFilterMatcherRegistry(registry);
+
+        Collection<?> items = PresidentDao.getPresidents();
+
+        FilterSet previous = new FilterSet();
+        previous.addFilter("name.firstName", "ja");
+
+        FilterSet extended = new FilterSet();
+        extended.addFilter("name.firstName", "jam");
+        assertTrue(itemsFilter.isRefinement(items, extended, previous));
+
+        FilterSet added = new FilterSet();
+        added.addFilter("name.firstName", "ja");
+        added.addFilter("name.lastName", "m");
+        assertTrue(itemsFilter.isRefinement(items, added, previous));
+
+        FilterSet changed = new FilterSet();
+        changed.addFilter("name.firstName", "jo");
+        assertFalse(itemsFilter.isRefinement(items, changed, previous));
+
+        FilterSet removed = new FilterSet();
+        removed.addFilter("name.lastName", "m");
+        assertFalse(itemsFilter.isRefinement(items, removed, previous));
+    }
+
+    @Test
+    public void isRefinementWithEvaluateOverridden() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(String.class), new StringFilterMatcher() {
+            @Override
+            public boolean evaluate(Object itemValue, String filterValue) {
+		
+                return String.valueOf(itemValue).equalsIgnoreCase(filterValue);
+            }
+        });
+
+        SimpleRowFilter itemsFilter = new SimpleRowFilter();
+        itemsFilter.setFilterMatcherRegistry(registry);
+
+        Collection<?> items = PresidentDao.getPresidents();
+
+        FilterSet previous = new FilterSet();
+        previous.addFilter("name.firstName", "ja");
+
+        FilterSet extended = new FilterSet();
+        extended.addFilter("name.firstName", "jam");
+        assertFalse("an exact match of the new value is not within the previous rows",
+            itemsFilter.isRefinement(items, extended, previous));
+
+        FilterSet added = new FilterSet();
+        added.addFilter("name.firstName", "ja");
+        added.addFilter("name.lastName", "m");
+        assertTrue(itemsFilter.isRefinement(items, added, previous));
+    }
+
+    @Test
+    public void orderBySelectivity() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(String.class), new StringFilterMatcher());
+        // matches every row so the order does not depend on how long each filter takes
+        registry.addFilterMatcher(new MatcherKey(String.class, "name.lastName"), new FilterMatcher() {
+            @Override
+            public boolean evaluate(Object itemValue, String filterValue) {
+		
+                return true;
+            }
+        });
+
+        WebContext webContext = createWebContext();
+
+        Map<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addFilter("name.lastName", "o");
+        builder.addFilter("term", "180");
+        webContext.setParameterMap(results);
+
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+
+        List<President> items = new ArrayList<President>();
+        for (int i = 0; i < 50; i++) {
+            items.addAll(PresidentDao.getPresidents());
+        }
+
+        List<President> expected = new ArrayList<President>();
+        for (President president : items) {
+            if (president.getTerm().contains("180")) {
+                expected.add(president);
+            }
+        }
+
+        final List<List<FilterStatistics>> handled = new ArrayList<List<FilterStatistics>>();
+
+        SimpleRowFilter itemsFilter = new SimpleRowFilter();
+        itemsFilter.setFilterMatcherRegistry(registry);
+        itemsFilter.setFilterStatisticsHandler(new FilterStatisticsHandler() {
+            @Override
+            public void handleStatistics(Limit limit, List<FilterStatistics> statistics) {
+		
+                handled.add(statistics);
+            }
+        });
+
+        Collection<?> filtered = itemsFilter.filterItems(items, limit);
+
+        assertEquals(1, handled.size());
+        List<FilterStatistics> statistics = handled.get(0);
+        assertEquals(2, statistics.size());
+        assertEquals("the most selective filter should be first", "term", statistics.get(0).getProperty());
+        assertTrue(statistics.get(0).getSelectivity() < statistics.get(1).getSelectivity());
+
+        assertEquals(expected, filtered);
+    }
+
+    @Test
+    public void declaredPropertyType() {
+		
+        FilterMatcherRegistry registry = new FilterMatcherRegistry();
+        registry.addFilterMatcher(new MatcherKey(Object.class), new StringFilterMatcher());
+        registry.addFilterMatcher(new MatcherKey(Long.class), new FilterMatcher() {
+            @Override
+            public boolean evaluate(Object itemValue, String filterValue) {
+		
+                return true;
+            }
+        });
+
+        WebContext webContext = createWebContext();
+
+        Map<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addFilter("id", "7");
+        webContext.setParameterMap(results);
+
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+
+        List<Map<String, Object>> items = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> item = new HashMap<String, Object>();
+            item.put("id", i);
+            items.add(item);
+        }
+
+        SimpleRowFilter itemsFilter = new SimpleRowFilter();
+        itemsFilter.setFilterMatcherRegistry(registry);
+        assertEquals(1, itemsFilter.filterItems(items, limit).size());
+
+        Map<String, Class<?>> propertyTypes = new HashMap<String, Class<?>>();
+        propertyTypes.put("id", Long.class);
+
+        SimpleRowFilter declaredFilter = new SimpleRowFilter();
+        declaredFilter.setFilterMatcherRegistry(registry);
+        declaredFilter.setPropertyTypes(propertyTypes);
+        assertEquals("the declared type should find the FilterMatcher", 10, declaredFilter.filterItems(items, limit).size());
+    }
 }
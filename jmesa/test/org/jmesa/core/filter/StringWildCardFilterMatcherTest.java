@@ -134,4 +134,26 @@ public class StringWildCardFilterMatcherTest {
         assertFalse(evaluate);
         
     }
+
+    @Test
+    public void testCompiledFilters() {
+		
+        StringWildCardFilterMatcher match = new StringWildCardFilterMatcher();
+
+        assertTrue(match.evaluate("george washington", "*WASH"));
+        assertTrue(match.evaluate("george washington", "**wash**"));
+        assertFalse(match.evaluate("george washington", "*adams"));
+        assertTrue(match.evaluate("george washington", "g*wash"));
+        assertFalse(match.evaluate("george washington", "g*adams"));
+        assertTrue(match.evaluate("george washington", "geo?ge"));
+
+        // the regular expression does not match across lines
+        assertFalse(match.evaluate("george\nwashington", "geo"));
+        assertFalse(match.evaluate("george\nwashington", "*wash"));
+
+        // same filter value again uses the compiled filter
+        assertTrue(match.evaluate("john adams", "*ada"));
+        assertTrue(match.evaluate("john quincy adams", "*ada"));
+        assertFalse(match.evaluate("thomas jefferson", "*ada"));
+    }
 }
@@ -16,6 +16,8 @@
 package org.jmesa.core.message;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Locale;
@@ -25,6 +27,7 @@ import org.jmesa.web.HttpServletRequestWebContext;
 import org.jmesa.web.WebContext;
 import org.junit.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
 
 /**
  * @since 2.0
@@ -48,4 +51,19 @@ public class MessagesTest {
 		assertNotNull(message);
 		assertTrue(message.equals("foo 1"));
 	}
+
+	@Test
+	public void getSharedMessages() {
+		
+		MockServletContext servletContext = new MockServletContext();
+		WebContext webContext = new HttpServletRequestWebContext(new MockHttpServletRequest(servletContext), servletContext);
+		webContext.setLocale(Locale.US);
+
+		Messages messages = MessagesFactory.getMessages(webContext);
+		assertSame(messages, MessagesFactory.getMessages(webContext));
+
+		WebContext frenchWebContext = new HttpServletRequestWebContext(new MockHttpServletRequest(servletContext), servletContext);
+		frenchWebContext.setLocale(Locale.FRANCE);
+		assertNotSame(messages, MessagesFactory.getMessages(frenchWebContext));
+	}
 }
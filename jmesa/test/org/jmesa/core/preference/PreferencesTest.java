@@ -41,4 +41,13 @@ public class PreferencesTest extends AbstractTestCase {
         assertNotNull("preference test.data is null " , preference);
         assertTrue(preference.equals("foo"));
     }
+
+    @Test
+    public void getSharedPreferences() {
+		
+        WebContext webContext = createWebContext();
+        Preferences preferences = PreferencesFactory.getPreferences(webContext);
+        assertNotNull(preferences.getPreference("limit.rowSelect.maxRows"));
+        assertSame(preferences, PreferencesFactory.getPreferences(webContext));
+    }
 }
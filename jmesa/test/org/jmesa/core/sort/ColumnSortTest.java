@@ -15,13 +15,19 @@
  */
 package org.jmesa.core.sort;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import org.jmesa.core.Name;
 import org.jmesa.core.President;
@@ -261,4 +267,177 @@ public class ColumnSortTest extends AbstractTestCase {
         President second = (President)iterator.next();
         assertTrue("the second sort order is wrong", second.getTerm().equals("1797-1801"));
     }
+
+    @Test
+    public void sortNumberItemsDescending() {
+		
+        WebContext webContext = createWebContext();
+        
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addSort("id", Order.DESC);
+        webContext.setParameterMap(results);
+        
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+        
+        MultiColumnSort itemsSort = new MultiColumnSort();
+        
+        Collection<?> items = PresidentDao.getPresidents();
+        int size = items.size();
+        items = itemsSort.sortItems(items, limit);
+
+        assertEquals(size, items.size());
+
+        int previous = Integer.MAX_VALUE;
+        for (Object item : items) {
+            int id = ((President) item).getId();
+            assertTrue("the sort order is wrong", id <= previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    public void sortItemsIsStable() {
+		
+        WebContext webContext = createWebContext();
+        
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addSort("name.lastName", Order.DESC);
+        webContext.setParameterMap(results);
+        
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+
+        List<President> items = new ArrayList<President>();
+        for (int i = 0; i < 10; i++) {
+            items.addAll(PresidentDao.getPresidents());
+        }
+
+        List<President> expected = new ArrayList<President>(items);
+        Collections.sort(expected, new Comparator<President>() {
+            public int compare(President president1, President president2) {
+		
+                return president2.getName().getLastName().compareTo(president1.getName().getLastName());
+            }
+        });
+
+        new MultiColumnSort().sortItems(items, limit);
+
+        assertEquals("the sort is not stable", expected, items);
+    }
+
+    @Test
+    public void parallelSortItems() {
+		
+        WebContext webContext = createWebContext();
+        
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addSort("name.lastName", Order.ASC);
+        builder.addSort("born", Order.DESC);
+        webContext.setParameterMap(results);
+        
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+
+        List<President> items = new ArrayList<President>();
+        for (int i = 0; i < 10; i++) {
+            items.addAll(PresidentDao.getPresidents());
+        }
+
+        List<President> expected = new ArrayList<President>(items);
+        new MultiColumnSort().sortItems(expected, limit);
+
+        new ParallelColumnSort(1).sortItems(items, limit);
+
+        assertEquals("the parallel sort order is wrong", expected, items);
+    }
+
+    @Test
+    public void partialSortItems() {
+		
+        WebContext webContext = createWebContext();
+        
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addSort("name.lastName", Order.ASC);
+        builder.addSort("born", Order.DESC);
+        webContext.setParameterMap(results);
+
+        List<President> items = new ArrayList<President>();
+        for (int i = 0; i < 10; i++) {
+            items.addAll(PresidentDao.getPresidents());
+        }
+
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+        limit.setRowSelect(limitFactory.createRowSelect(15, items.size()));
+
+        List<President> expected = new ArrayList<President>(items);
+        new MultiColumnSort().sortItems(expected, limit);
+
+        Collection<?> sorted = new PartialColumnSort(4).sortItems(items, limit);
+
+        assertTrue(sorted instanceof PartiallySorted);
+        assertEquals(15, ((PartiallySorted) sorted).getSortedRows());
+        assertEquals(items.size(), sorted.size());
+        assertEquals("the first rows are not in sorted order", expected.subList(0, 15), new ArrayList<Object>(sorted).subList(0, 15));
+    }
+
+    @Test
+    public void sortItemsDescendingWithMinValueCompare() {
+		
+        WebContext webContext = createWebContext();
+
+        HashMap<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.addSort("rank", Order.DESC);
+        webContext.setParameterMap(results);
+
+        List<Map<String, Object>> items = new ArrayList<Map<String, Object>>();
+        for (int value : new int[] {2, 3, 1}) {
+            Map<String, Object> item = new HashMap<String, Object>();
+            item.put("rank", new Rank(value));
+            items.add(item);
+        }
+
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+        limit.setRowSelect(limitFactory.createRowSelect(15, items.size()));
+
+        new MultiColumnSort().sortItems(items, limit);
+
+        List<Integer> values = new ArrayList<Integer>();
+        for (Map<String, Object> item : items) {
+            values.add(((Rank) item.get("rank")).value);
+        }
+        assertEquals(Arrays.asList(3, 2, 1), values);
+    }
+
+    private static class Rank implements Comparable<Rank> {
+		
+        private final int value;
+
+        Rank(int value) {
+		
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Rank rank) {
+		
+            if (value < rank.value) {
+                return Integer.MIN_VALUE;
+            }
+
+            return value == rank.value ? 0 : 1;
+        }
+    }
 }
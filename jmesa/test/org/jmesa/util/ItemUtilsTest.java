@@ -15,11 +15,14 @@
  */
 package org.jmesa.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.jmesa.core.President;
@@ -42,6 +45,41 @@ public class ItemUtilsTest extends AbstractTestCase {
         assertNotNull("Cannot retrieve a bean value.", value);
     }
 
+    @Test
+    public void getItemValueNestedBean() {
+		
+        Collection<President> items = PresidentDao.getPresidents();
+        President president = items.iterator().next();
+        Object value = ItemUtils.getItemValue(president, "name.firstName");
+        assertEquals("Cannot retrieve a nested bean value.", "George", value);
+
+        president.setName(null);
+        value = ItemUtils.getItemValue(president, "name.firstName");
+        assertNull("Should not retrieve a value through a null nested bean.", value);
+    }
+
+    @Test
+    public void clearClassCaches() {
+		
+        President president = PresidentDao.getPresidents().iterator().next();
+        PropertyAccessor accessor = PropertyAccessor.getAccessor(President.class, "name");
+        assertNotNull(accessor);
+
+        ClassCache.clearAll();
+
+        assertNotSame("the accessors should be looked up again", accessor, PropertyAccessor.getAccessor(President.class, "name"));
+        assertEquals("George", ItemUtils.getItemValue(president, "name.firstName"));
+    }
+
+    @Test
+    public void getItemValueUnknownProperty() {
+		
+        Collection<President> items = PresidentDao.getPresidents();
+        President president = items.iterator().next();
+        Object value = ItemUtils.getItemValue(president, "nickName");
+        assertNull("Should not retrieve an unknown bean value.", value);
+    }
+
     @Test
     public void getItemValueMap() {
 		
@@ -72,6 +110,56 @@ public class ItemUtilsTest extends AbstractTestCase {
         assertNull("could retrieve a map bean value.", value);
     }
     
+    @Test
+    public void getPropertyClassType() throws Exception {
+		
+        Collection<President> items = PresidentDao.getPresidents();
+
+        assertEquals(String.class, ItemUtils.getPropertyClassType(items, "name.firstName"));
+        assertEquals("the cached type should be the same", String.class, ItemUtils.getPropertyClassType(items, "name.firstName"));
+        assertEquals(Double.class, ItemUtils.getPropertyClassType(items, "salary"));
+    }
+
+    @Test
+    public void getNestedPropertyClassTypeByValue() throws Exception {
+		
+        Collection<Holder> items = Collections.singletonList(new Holder(new Holder("1")));
+        assertEquals(Object.class, ItemUtils.getPropertyClassType(items, "value.value"));
+
+        items = Collections.singletonList(new Holder(new Label("1")));
+        assertEquals("the type should come from the nested value", String.class, ItemUtils.getPropertyClassType(items, "value.value"));
+    }
+
+    public static class Holder {
+		
+        private final Object value;
+
+        public Holder(Object value) {
+		
+            this.value = value;
+        }
+
+        public Object getValue() {
+		
+            return value;
+        }
+    }
+
+    public static class Label {
+		
+        private final String value;
+
+        public Label(String value) {
+		
+            this.value = value;
+        }
+
+        public String getValue() {
+		
+            return value;
+        }
+    }
+
     private Map<String, Serializable> getMap() {
 		
         Map<String, Serializable> result = new HashMap<String, Serializable>();
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class ParallelUtilsTest {
+
+    @Test
+    public void invokeAllAfterShutdown() {
+		
+        assertEquals(2, ParallelUtils.invokeAll(createTasks()).size());
+
+        ParallelUtils.shutdown();
+
+        assertEquals("a new pool should be created", 2, ParallelUtils.invokeAll(createTasks()).size());
+    }
+
+    @Test
+    public void callerExecutorService() {
+		
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            ParallelUtils.setExecutorService(executorService);
+
+            List<String> results = ParallelUtils.invokeAll(createTasks());
+            assertEquals(results.get(0), results.get(1));
+
+            ParallelUtils.shutdown();
+            assertFalse("the caller owns the executor service", executorService.isShutdown());
+        } finally {
+            ParallelUtils.setExecutorService(null);
+            executorService.shutdown();
+        }
+
+        assertTrue(executorService.isShutdown());
+    }
+
+    private List<Callable<String>> createTasks() {
+		
+        List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+        for (int i = 0; i < 2; i++) {
+            tasks.add(new Callable<String>() {
+                public String call() {
+		
+                    return Thread.currentThread().getName();
+                }
+            });
+        }
+
+        return tasks;
+    }
+}
@@ -18,6 +18,7 @@ package org.jmesa.view.csv;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -32,6 +33,7 @@ import org.jmesa.view.component.Row;
 import org.jmesa.view.component.Table;
 import org.jmesa.web.WebContext;
 import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 /**
  * @since 2.0
@@ -40,7 +42,8 @@ import org.junit.Test;
 public class CsvViewTest extends AbstractTestCase {
 		
     @Test
-    public void render() {
+    public void render()
+            throws Exception {
 		
         WebContext webContext = createWebContext();
         webContext.setParameterMap(getParameters());
@@ -81,6 +84,66 @@ public class CsvViewTest extends AbstractTestCase {
         Object csv = view.render();
 
         assertNotNull(csv);
+
+        StringWriter writer = new StringWriter();
+        view.render(writer);
+
+        assertEquals(csv, writer.toString());
+    }
+
+    @Test
+    public void export()
+            throws Exception {
+		
+        CsvView view = new CsvView();
+        String csv = export(view);
+
+        assertEquals(view.render(), csv);
+    }
+
+    @Test
+    public void exportWithRenderOverridden()
+            throws Exception {
+		
+        CsvView view = new CsvView() {
+            @Override
+            public Object render() {
+		
+                return "\"custom\"\r\n";
+            }
+        };
+
+        assertEquals("The overridden render() is not used", "\"custom\"\r\n", export(view));
+    }
+
+    private String export(CsvView view)
+            throws Exception {
+		
+        WebContext webContext = createWebContext();
+        webContext.setParameterMap(getParameters());
+        webContext.setLocale(Locale.US);
+
+        CoreContext coreContext = createCoreContext(webContext);
+
+        Table table = new Table();
+        Row row = new Row();
+        table.setRow(row);
+        row.addColumn(new Column("name.firstName"));
+        row.addColumn(new Column("name.lastName"));
+
+        view.setCoreContext(coreContext);
+        view.setTable(table);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        CsvViewExporter exporter = new CsvViewExporter();
+        exporter.setView(view);
+        exporter.setCoreContext(coreContext);
+        exporter.setHttpServletResponse(response);
+        exporter.setFileName("presidents");
+        exporter.export();
+
+        return response.getContentAsString();
     }
 
     private Map<?, ?> getParameters() {
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.view.editor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.jmesa.test.AbstractTestCase;
+import org.jmesa.util.FormatUtils;
+import org.jmesa.web.WebContext;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class PatternCellEditorTest extends AbstractTestCase {
+		
+    @Test
+    public void numberCellEditor() {
+		
+        WebContext webContext = createWebContext();
+        Locale locale = webContext.getLocale();
+
+        NumberCellEditor editor = new NumberCellEditor("#,##0.00");
+        editor.setWebContext(webContext);
+
+        DecimalFormat expected = (DecimalFormat) NumberFormat.getInstance(locale);
+        expected.applyPattern("#,##0.00");
+
+        assertEquals(expected.format(1234.5), editor.getValue(item(1234.5), "value", 1));
+        assertEquals(expected.format(7), editor.getValue(item(7), "value", 2));
+
+        assertSame("each thread should reuse its format", FormatUtils.getDecimalFormat("#,##0.00", locale),
+            FormatUtils.getDecimalFormat("#,##0.00", locale));
+    }
+
+    @Test
+    public void dateCellEditor() {
+		
+        WebContext webContext = createWebContext();
+        Locale locale = webContext.getLocale();
+
+        DateCellEditor editor = new DateCellEditor("MMMM dd, yyyy");
+        editor.setWebContext(webContext);
+
+        Date date = new Date(0);
+
+        assertEquals(DateFormatUtils.format(date, "MMMM dd, yyyy", locale), editor.getValue(item(date), "value", 1));
+    }
+
+    @Test
+    public void dateTimeCellEditor() {
+		
+        WebContext webContext = createWebContext();
+        Locale locale = webContext.getLocale();
+
+        DateTimeCellEditor editor = new DateTimeCellEditor("MMMM dd, yyyy");
+        editor.setWebContext(webContext);
+
+        DateTime dateTime = new DateTime(0);
+
+        assertEquals(dateTime.toString("MMMM dd, yyyy", locale), editor.getValue(item(dateTime), "value", 1));
+
+        editor.setPattern(null);
+
+        assertEquals(dateTime.toString(), editor.getValue(item(dateTime), "value", 1));
+    }
+
+    private Map<String, Object> item(Object value) {
+		
+        Map<String, Object> item = new HashMap<String, Object>();
+        item.put("value", value);
+        return item;
+    }
+}
@@ -21,6 +21,8 @@ import java.util.Map;
 import javax.servlet.jsp.el.ELException;
 import javax.servlet.jsp.el.VariableResolver;
 import junit.framework.Assert;
+import org.jmesa.core.Name;
+import org.jmesa.core.President;
 import org.jmesa.test.AbstractTestCase;
 import org.jmesa.view.editor.expression.ElExpressionCellEditor.VariableResolverMap;
 import org.junit.Test;
@@ -61,6 +63,45 @@ public class ElExpressionCellEditorTest extends AbstractTestCase {
         Assert.assertEquals("1 + 2 = 3", result);
     }
 
+    @Test
+    public void compiledTemplate() {
+		
+        President president = new President();
+        president.setName(new Name("George", "Washington"));
+
+        String[] templates = {
+            "${bean.name.lastName}, ${bean.name.firstName}",
+            "${bean.name.lastName}",
+            "${bean.name.nickName}!",
+            "${bean.term}",
+            "${bean}",
+            "text only",
+            "${bean.name.lastName == 'Washington'}"
+        };
+
+        for (String template : templates) {
+            CellEditor compiled = new ElExpressionCellEditor("bean", template);
+            CellEditor evaluated = new ElExpressionCellEditor("bean", template) {
+                @Override
+                protected VariableResolver getVariableResolver(Object item) {
+		
+                    return super.getVariableResolver(item);
+                }
+            };
+
+            Assert.assertEquals(template, evaluated.getValue(president, "test", 0), compiled.getValue(president, "test", 0));
+        }
+
+        CellEditor editor = new ElExpressionCellEditor("bean", "${bean.name.lastName}, ${bean.name.firstName}");
+        Assert.assertEquals("Washington, George", editor.getValue(president, "test", 0));
+        Assert.assertEquals(", ", editor.getValue(new President(), "test", 0));
+        Assert.assertNull("an unknown property should not be resolved", new ElExpressionCellEditor("bean", "${bean.unknown}").getValue(president, "test", 0));
+
+        Object item = getVariableContext();
+        editor = new ElExpressionCellEditor("item", "${item.one} and ${item.two}");
+        Assert.assertEquals("1 and 2", editor.getValue(item, "test", 0));
+    }
+
     protected Map<?, ?> getVariableContext() {
 		
         Integer one = new Integer(1);
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.view.excel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.jmesa.core.CoreContext;
+import org.jmesa.core.PresidentDao;
+import org.jmesa.model.TableModel;
+import org.jmesa.test.AbstractTestCase;
+import org.jmesa.test.ParametersAdapter;
+import org.jmesa.test.ParametersBuilder;
+import org.jmesa.view.component.Column;
+import org.jmesa.view.component.Row;
+import org.jmesa.view.component.Table;
+import org.jmesa.web.WebContext;
+import org.junit.Test;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class Excel2007ViewTest extends AbstractTestCase {
+		
+    @Test
+    public void render() {
+		
+        Excel2007View view = createView();
+
+        Workbook workbook = (Workbook) view.render();
+
+        assertTrue(workbook instanceof XSSFWorkbook);
+        assertSheet(workbook.getSheetAt(0));
+    }
+
+    @Test
+    public void renderStreaming() {
+		
+        Excel2007View view = createView();
+        view.setRowWindow(10);
+
+        SXSSFWorkbook workbook = (SXSSFWorkbook) view.render();
+
+        try {
+            Sheet sheet = workbook.getSheetAt(0);
+            int lastRow = PresidentDao.getPresidents().size();
+            assertEquals(lastRow, sheet.getLastRowNum());
+            assertEquals(Cell.CELL_TYPE_NUMERIC, sheet.getRow(lastRow).getCell(1).getCellType());
+            Cell born = sheet.getRow(lastRow).getCell(2);
+            assertTrue(DateUtil.isCellDateFormatted(born));
+            assertEquals(Excel2007View.toExcelFormat(getShortDateTimePattern()), born.getCellStyle().getDataFormatString());
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    private void assertSheet(Sheet sheet) {
+		
+        assertEquals(PresidentDao.getPresidents().size(), sheet.getLastRowNum());
+        assertEquals("First Name", sheet.getRow(0).getCell(0).getStringCellValue());
+        assertEquals(Cell.CELL_TYPE_STRING, sheet.getRow(1).getCell(0).getCellType());
+        assertEquals(Cell.CELL_TYPE_NUMERIC, sheet.getRow(1).getCell(1).getCellType());
+        int lastRow = sheet.getLastRowNum();
+        assertEquals("dates are text unless streaming", Cell.CELL_TYPE_STRING, sheet.getRow(lastRow).getCell(2).getCellType());
+    }
+
+    @Test
+    public void toExcelFormat() {
+		
+        assertEquals("MM/dd/yyyy hh:mm", Excel2007View.toExcelFormat("MM/dd/yyyy HH:mm"));
+        assertEquals("dddd, MMMM d, yyyy h:mm AM/PM", Excel2007View.toExcelFormat("EEEE, MMMM d, yyyy h:mm a"));
+        assertEquals("yy-MM-dd\"T\"hh:mm:ss", Excel2007View.toExcelFormat("yy-MM-dd'T'HH:mm:ss z"));
+    }
+
+    private String getShortDateTimePattern() {
+		
+        return ((SimpleDateFormat) DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, Locale.US)).toPattern();
+    }
+
+    private Excel2007View createView() {
+		
+        WebContext webContext = createWebContext();
+        webContext.setParameterMap(getParameters());
+        webContext.setLocale(Locale.US);
+
+        CoreContext coreContext = createCoreContext(webContext);
+
+        Table table = new Table();
+        Row row = new Row();
+        table.setRow(row);
+        Column firstNameColumn = new Column("name.firstName");
+        firstNameColumn.setTitle("First Name");
+        row.addColumn(firstNameColumn);
+        row.addColumn(new Column("salary"));
+        row.addColumn(new Column("born"));
+
+        Excel2007View view = new Excel2007View();
+        view.setCoreContext(coreContext);
+        view.setWebContext(webContext);
+        view.setTable(table);
+        return view;
+    }
+
+    private Map<?, ?> getParameters() {
+		
+        Map<String, Object> results = new HashMap<String, Object>();
+        ParametersAdapter parametersAdapter = new ParametersAdapter(results);
+        ParametersBuilder builder = new ParametersBuilder(ID, parametersAdapter);
+        builder.setExportType(TableModel.EXCEL_2007);
+        return results;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.view.html;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.jmesa.core.PresidentDao;
+import org.jmesa.facade.TableFacade;
+import org.jmesa.facade.TableFacadeFactory;
+import org.jmesa.test.AbstractTestCase;
+import org.jmesa.view.html.component.HtmlColumn;
+import org.jmesa.view.html.component.HtmlRow;
+import org.jmesa.view.html.component.HtmlTable;
+import org.jmesa.view.html.renderer.HtmlCellRenderer;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class HtmlViewTest extends AbstractTestCase {
+		
+    @Test
+    public void renderToWriter() {
+		
+        String html = (String) getView(createTableFacade()).render();
+
+        StringWriter writer = new StringWriter();
+        getView(createTableFacade()).render(writer);
+
+        assertTrue("There is no html rendered", html.length() > 0);
+        assertEquals(html, writer.toString());
+    }
+
+    @Test
+    public void tableFacadeRenderToWriter() {
+		
+        String html = createTableFacade().render();
+
+        StringWriter writer = new StringWriter();
+        createTableFacade().render(writer);
+
+        assertEquals(html, writer.toString());
+    }
+
+    @Test
+    public void renderToWriterWithRenderOverridden() {
+		
+        TableFacade tableFacade = createTableFacade();
+        tableFacade.setView(new HtmlView() {
+            @Override
+            public Object render() {
+		
+                return "<div>" + super.render() + "</div>";
+            }
+        });
+
+        String html = (String) tableFacade.getView().render();
+
+        StringWriter writer = new StringWriter();
+        ((HtmlView) tableFacade.getView()).render(writer);
+
+        assertTrue("The overridden render() is not used", writer.toString().startsWith("<div>"));
+        assertEquals(html, writer.toString());
+    }
+
+    @Test
+    public void renderToWriterWithBodyOverridden() {
+		
+        HtmlView view = getView(createTableFacade());
+        view.setHtmlSnippets(new HtmlSnippets(view.getTable(), view.getToolbar(), view.getCoreContext()) {
+            @Override
+            public String body() {
+		
+                return "<tr><td>body</td></tr>";
+            }
+        });
+
+        String html = (String) view.render();
+
+        StringWriter writer = new StringWriter();
+        view.render(writer);
+
+        assertTrue("The overridden body() is not used", html.contains("<tr><td>body</td></tr>"));
+        assertEquals(html, writer.toString());
+    }
+
+    @Test
+    public void renderToWriterWithWorksheetRowsAddedOverridden() {
+		
+        HtmlView view = getView(createTableFacade());
+        view.setHtmlSnippets(new HtmlSnippets(view.getTable(), view.getToolbar(), view.getCoreContext()) {
+            @Override
+            public String worksheetRowsAdded() {
+		
+                return "<tr><td>added</td></tr>";
+            }
+        });
+
+        String html = (String) view.render();
+
+        StringWriter writer = new StringWriter();
+        view.render(writer);
+
+        assertTrue("The overridden worksheetRowsAdded() is not used", html.contains("<tr><td>added</td></tr>"));
+        assertEquals(html, writer.toString());
+    }
+
+    @Test
+    public void renderToWriterWithCellRendererOverridden() {
+		
+        HtmlView view = getView(createTableFacade());
+        HtmlColumn column = view.getTable().getRow().getColumn("term");
+        column.setCellRenderer(new HtmlCellRenderer() {
+            @Override
+            public Object render(Object item, int rowcount) {
+		
+                return "<td>term " + rowcount + "</td>";
+            }
+        });
+
+        String html = (String) view.render();
+
+        StringWriter writer = new StringWriter();
+        view.render(writer);
+
+        assertTrue("The overridden render(Object, int) is not used", html.contains("<td>term 1</td>"));
+        assertEquals(html, writer.toString());
+    }
+
+    private TableFacade createTableFacade() {
+		
+        TableFacade tableFacade = TableFacadeFactory.createTableFacade(ID, new MockHttpServletRequest());
+        tableFacade.setItems(PresidentDao.getPresidents());
+
+        HtmlTable table = new HtmlTable();
+        HtmlRow row = new HtmlRow();
+        row.addColumn(new HtmlColumn("name.firstName"));
+        row.addColumn(new HtmlColumn("name.lastName"));
+        row.addColumn(new HtmlColumn("term"));
+        row.addColumn(new HtmlColumn("career"));
+        table.setRow(row);
+        tableFacade.setTable(table);
+
+        return tableFacade;
+    }
+
+    private HtmlView getView(TableFacade tableFacade) {
+		
+        return (HtmlView) tableFacade.getView();
+    }
+}
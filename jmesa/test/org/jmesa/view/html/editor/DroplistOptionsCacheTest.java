@@ -0,0 +1,93 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.view.html.editor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.jmesa.core.CoreContext;
+import org.jmesa.core.CoreContextFactory;
+import org.jmesa.core.President;
+import org.jmesa.core.PresidentDao;
+import org.jmesa.core.preference.PropertiesPreferences;
+import org.jmesa.limit.Limit;
+import org.jmesa.limit.LimitFactory;
+import org.jmesa.test.AbstractTestCase;
+import org.jmesa.view.html.component.HtmlColumn;
+import org.jmesa.view.html.editor.DroplistFilterEditor.Option;
+import org.jmesa.web.WebContext;
+import org.junit.Test;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class DroplistOptionsCacheTest extends AbstractTestCase {
+		
+    @Test
+    public void cachedOptions() {
+		
+        WebContext webContext = createWebContext();
+
+        Collection<Option> options = getOptions(webContext, PresidentDao.getPresidents(), "1");
+        assertEquals(36, options.size());
+
+        Collection<Option> cachedOptions = getOptions(webContext, new ArrayList<President>(), "1");
+        assertEquals("the options should not be read from the items again", new ArrayList<Option>(options),
+            new ArrayList<Option>(cachedOptions));
+
+        Collection<Option> newOptions = getOptions(webContext, new ArrayList<President>(), "2");
+        assertEquals("another data version should read the items", 1, newOptions.size());
+    }
+
+    @Test
+    public void cachedOptionsKey() {
+		
+        WebContext webContext = createWebContext();
+
+        Collection<Option> options = getOptions(webContext, ID, "name.firstName", PresidentDao.getPresidents(), "1");
+        assertEquals(36, options.size());
+
+        Collection<Option> otherOptions = getOptions(webContext, ID + ".name", "firstName", new ArrayList<President>(), "1");
+        assertEquals("another table should not get the options", 1, otherOptions.size());
+    }
+
+    private Collection<Option> getOptions(WebContext webContext, Collection<President> items, Object dataVersion) {
+		
+        return getOptions(webContext, ID, "name.firstName", items, dataVersion);
+    }
+
+    private Collection<Option> getOptions(WebContext webContext, String id, String property, Collection<President> items, Object dataVersion) {
+		
+        LimitFactory limitFactory = new LimitFactory(id, webContext);
+        Limit limit = limitFactory.createLimit();
+        limit.setRowSelect(limitFactory.createRowSelect(MAX_ROWS, items.size()));
+
+        CoreContextFactory factory = new CoreContextFactory(false, webContext);
+        factory.setPreferences(new PropertiesPreferences("/org/jmesa/core/test.properties", webContext));
+        factory.setDataVersion(dataVersion);
+        CoreContext coreContext = factory.createCoreContext(items, limit, null);
+
+        DroplistFilterEditor editor = new DroplistFilterEditor();
+        editor.setCoreContext(coreContext);
+        editor.setWebContext(webContext);
+        editor.setColumn(new HtmlColumn(property));
+
+        return editor.getOptions();
+    }
+}
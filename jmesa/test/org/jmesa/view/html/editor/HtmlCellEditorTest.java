@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.view.html.editor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.apache.commons.lang.StringEscapeUtils;
+import org.jmesa.core.Name;
+import org.jmesa.core.President;
+import org.jmesa.view.html.HtmlBuilder;
+import org.jmesa.view.html.HtmlUtils;
+import org.junit.Test;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class HtmlCellEditorTest {
+		
+    private static final String[] VALUES = {
+        "", "George", "Washington & Lee", "<b>\"bold\"</b>", "caf\u00e9", "\u20ac 5", "it's", "a/b\\c",
+        "line\nbreak", "tab\t", "\u007f", "\ud83d\ude00 smile", "&amp;"
+    };
+
+    @Test
+    public void getValue() {
+		
+        President president = new President();
+        president.setName(new Name("George", "Washington & Lee"));
+
+        HtmlCellEditor cellEditor = new HtmlCellEditor();
+
+        assertEquals("George", cellEditor.getValue(president, "name.firstName", 1));
+        assertEquals("Washington &amp; Lee", cellEditor.getValue(president, "name.lastName", 1));
+    }
+
+    @Test
+    public void escapeHtml() {
+		
+        for (String value : VALUES) {
+            String expected = StringEscapeUtils.escapeHtml(value);
+            assertEquals(expected, HtmlUtils.escapeHtml(value));
+
+            HtmlBuilder html = new HtmlBuilder();
+            HtmlUtils.escapeHtml(value, html);
+            assertEquals(expected, html.toString());
+        }
+
+        String value = "nothing to escape";
+        assertSame(value, HtmlUtils.escapeHtml(value));
+
+        StringBuilder chars = new StringBuilder();
+        for (char c = 0x80; c < 0xD800; c++) {
+            chars.append(c);
+        }
+        HtmlBuilder html = new HtmlBuilder();
+        HtmlUtils.escapeHtml(chars.toString(), html);
+        assertEquals(StringEscapeUtils.escapeHtml(chars.toString()), html.toString());
+    }
+
+    @Test
+    public void escapeJavaScript() {
+		
+        for (String value : VALUES) {
+            assertEquals(StringEscapeUtils.escapeJavaScript(value), HtmlUtils.escapeJavaScript(value));
+        }
+
+        String value = "nothing to escape";
+        assertSame(value, HtmlUtils.escapeJavaScript(value));
+    }
+}
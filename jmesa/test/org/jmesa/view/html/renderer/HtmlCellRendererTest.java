@@ -0,0 +1,126 @@
+/*
+ * Copyright 2004 original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jmesa.view.html.renderer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+
+import org.jmesa.core.CoreContext;
+import org.jmesa.core.CoreContextFactory;
+import org.jmesa.core.President;
+import org.jmesa.core.PresidentDao;
+import org.jmesa.core.preference.Preferences;
+import org.jmesa.core.preference.PropertiesPreferences;
+import org.jmesa.limit.Limit;
+import org.jmesa.limit.LimitFactory;
+import org.jmesa.core.Name;
+import org.jmesa.test.AbstractTestCase;
+import org.jmesa.view.html.HtmlBuilder;
+import org.jmesa.view.html.HtmlConstants;
+import org.jmesa.view.html.component.HtmlColumn;
+import org.jmesa.view.html.component.HtmlRow;
+import org.jmesa.web.WebContext;
+import org.junit.Test;
+
+/**
+ * @since 4.1
+ * @author Jeff Johnston
+ */
+public class HtmlCellRendererTest extends AbstractTestCase {
+		
+    @Test
+    public void render() {
+		
+        WebContext webContext = createWebContext();
+        CoreContext coreContext = createCoreContext(webContext);
+
+        HtmlRow row = new HtmlRow();
+        HtmlColumn column = new HtmlColumn("name.firstName");
+        column.setWidth("100px");
+        column.setStyleClass("name");
+        row.addColumn(column);
+        row.setCoreContext(coreContext);
+
+        HtmlCellRenderer cellRenderer = new HtmlCellRenderer();
+        cellRenderer.setColumn(column);
+        cellRenderer.setCoreContext(coreContext);
+        column.setCellRenderer(cellRenderer);
+
+        President item = new President();
+        item.setName(new Name("George", "Washington"));
+
+        assertEquals(expected(coreContext, cellRenderer, column, 1, "George"), cellRenderer.render(item, 1));
+        assertEquals(expected(coreContext, cellRenderer, column, 2, "George"), cellRenderer.render(item, 2));
+
+        column.setStyle("color:red");
+
+        assertEquals("the static markup should be built again", expected(coreContext, cellRenderer, column, 3, "George"), cellRenderer.render(item, 3));
+    }
+
+    @Test
+    public void renderWithId() {
+		
+        WebContext webContext = createWebContext();
+
+        final Preferences preferences = new PropertiesPreferences("/org/jmesa/core/test.properties", webContext);
+        CoreContextFactory factory = new CoreContextFactory(false, webContext);
+        factory.setPreferences(new Preferences() {
+            @Override
+            public String getPreference(String code) {
+		
+                if (code.equals(HtmlConstants.CELL_RENDERER_INCLUDE_ID)) {
+                    return "true";
+                }
+                return preferences.getPreference(code);
+            }
+        });
+
+        Collection<President> items = PresidentDao.getPresidents();
+        LimitFactory limitFactory = new LimitFactory(ID, webContext);
+        Limit limit = limitFactory.createLimit();
+        limit.setRowSelect(limitFactory.createRowSelect(MAX_ROWS, items.size()));
+        CoreContext coreContext = factory.createCoreContext(items, limit, null);
+
+        HtmlColumn column = new HtmlColumn("name.firstName");
+        HtmlCellRenderer cellRenderer = new HtmlCellRenderer();
+        cellRenderer.setColumn(column);
+        cellRenderer.setCoreContext(coreContext);
+
+        President item = new President();
+        item.setName(new Name("George", "Washington"));
+
+        assertEquals(expected(coreContext, cellRenderer, column, 7, "George"), cellRenderer.render(item, 7));
+        assertTrue(cellRenderer.render(item, 8).toString().contains(" id=\"" + ID + "_column_name_firstName_8\" "));
+    }
+
+    private String expected(CoreContext coreContext, HtmlCellRenderer cellRenderer, HtmlColumn column, int rowcount, String value) {
+		
+        HtmlBuilder html = new HtmlBuilder();
+        html.td(2);
+        if (!"false".equals(coreContext.getPreference(HtmlConstants.CELL_RENDERER_INCLUDE_ID))) {
+            html.id(ID + "_column_name_firstName_" + rowcount);
+        }
+        html.width(column.getWidth());
+        html.style(column.getStyle());
+        html.styleClass(column.getStyleClass());
+        html.close();
+        html.append(value);
+        html.tdEnd();
+        return html.toString();
+    }
+}
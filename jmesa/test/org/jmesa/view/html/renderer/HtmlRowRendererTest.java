@@ -15,12 +15,16 @@
  */
 package org.jmesa.view.html.renderer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringWriter;
+
 import org.jmesa.core.CoreContext;
 import org.jmesa.core.President;
 import org.jmesa.test.AbstractTestCase;
+import org.jmesa.view.html.HtmlBuilder;
 import org.jmesa.view.html.component.HtmlRow;
 import org.jmesa.view.html.event.AbstractRowEvent;
 import org.jmesa.web.WebContext;
@@ -62,4 +66,36 @@ public class HtmlRowRendererTest extends AbstractTestCase {
         assertTrue(html.contains("onclick"));
         assertTrue(html.contains("document.location='jmesa.org?id=4'"));
     }
+
+    @Test
+    public void renderToWriter() {
+		
+        WebContext webContext = createWebContext();
+        CoreContext coreContext = createCoreContext(webContext);
+
+        HtmlRow row = new HtmlRow();
+        row.setCoreContext(coreContext);
+
+        HtmlRowRenderer rowRenderer = new HtmlRowRenderer();
+        rowRenderer.setRow(row);
+        rowRenderer.setCoreContext(coreContext);
+
+        President item = new President();
+        item.setId(new Integer(4));
+
+        StringBuilder expected = new StringBuilder();
+        StringWriter writer = new StringWriter();
+        HtmlBuilder html = new HtmlBuilder(writer);
+        for (int rowcount = 1; rowcount <= 1000; rowcount++) {
+            expected.append(rowRenderer.render(item, rowcount));
+            rowRenderer.render(item, rowcount, html);
+        }
+
+        assertTrue("the full buffer should be written out", writer.getBuffer().length() > 0);
+
+        html.flush();
+
+        assertEquals(expected.toString(), writer.toString());
+        assertEquals(0, html.length());
+    }
 }